@@ -0,0 +1,53 @@
+package com.sonny.auth;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation checks racing against concurrent revocations: three readers per writer,
+ * mirroring the decode-heavy request mix.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class TokenBlacklistBenchmark {
+
+    private static final int PRELOADED = 100_000;
+
+    private TokenBlacklist tokenBlacklist;
+    private String[] knownIds;
+
+    @Setup
+    public void setUp() {
+        tokenBlacklist = new TokenBlacklist();
+        knownIds = new String[PRELOADED];
+        Instant expiration = Instant.now().plusSeconds(300);
+        for (int i = 0; i < PRELOADED; i++) {
+            knownIds[i] = UUID.randomUUID().toString();
+            if (i % 2 == 0) {
+                tokenBlacklist.revokeToken(knownIds[i], expiration);
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public boolean isRevoked() {
+        return tokenBlacklist.isRevoked(knownIds[ThreadLocalRandom.current().nextInt(PRELOADED)]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void revokeToken() {
+        tokenBlacklist.revokeToken(UUID.randomUUID().toString(), Instant.now().plusSeconds(300));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sonny.config;
+
+import com.sonny.auth.AccessTokenMinter;
+import com.sonny.auth.TokenBlacklist;
+import com.sonny.auth.TokenEpochStore;
+import com.sonny.user.Role;
+import com.sonny.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full decode path of the {@link SecurityConfig#jwtDecoder} wrapper: signature and expiry
+ * validation, blacklist lookup and token-epoch check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JwtDecoderBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    private JwtDecoder jwtDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties(
+                "change-me-in-production-must-be-at-least-32-chars-long!!", 300000, 600000);
+        // Seed the epoch, with a TTL outliving the run, so the store never falls back to the (absent) repository
+        TokenEpochStore tokenEpochStore = new TokenEpochStore(null,
+                new TokenEpochCacheProperties(Duration.ofDays(1), 16));
+        tokenEpochStore.advance(EMAIL, 0);
+        jwtDecoder = new SecurityConfig(jwtProperties).jwtDecoder(new TokenBlacklist(), tokenEpochStore,
+                new SimpleMeterRegistry());
+        token = new AccessTokenMinter(jwtProperties).mint(User.builder()
+                .email(EMAIL)
+                .roles(Set.of(Role.USER))
+                .build());
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtDecoder.decode(token);
+    }
+}
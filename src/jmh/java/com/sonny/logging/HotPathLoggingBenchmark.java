@@ -0,0 +1,102 @@
+package com.sonny.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the claims log line on the JWT decode path, with four threads contending:
+ * <ul>
+ *   <li>{@code sync-error}: the former unconditional ERROR through a synchronous console appender</li>
+ *   <li>{@code async-error}: the same statement through the async appender of logback-spring.xml</li>
+ *   <li>{@code sampled-debug}: the current guarded, rate-limited DEBUG with the logger at INFO</li>
+ *   <li>{@code sampled-debug-on}: the same with DEBUG switched on at runtime</li>
+ * </ul>
+ * Output goes to a discarding stream so formatting and locking are measured, not the terminal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HotPathLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync-error", "async-error", "sampled-debug", "sampled-debug-on"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private LogRateLimiter limiter;
+    private Map<String, Object> claims;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> appender = console;
+        if (mode.equals("async-error")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            appender = async;
+        }
+        logger = context.getLogger("com.sonny.security.jwt-claims");
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        logger.setLevel(mode.equals("sampled-debug-on") ? Level.DEBUG : Level.INFO);
+
+        limiter = new LogRateLimiter(10, Duration.ofSeconds(1));
+        claims = Map.of(
+                "sub", "bench@example.com",
+                "authorities", List.of("USER"),
+                "iat", Instant.now(),
+                "exp", Instant.now().plusSeconds(300),
+                "jti", "0b7c2f9e-6a43-4f0e-9d1c-5f1c3b0f2a11",
+                "epoch", 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logClaims() {
+        if (mode.endsWith("error")) {
+            logger.error("JWT Claims: {}", claims);
+        } else if (logger.isDebugEnabled() && limiter.tryAcquire()) {
+            logger.debug("JWT claims: {} ({} similar suppressed)", claims, limiter.drainSuppressed());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sonny.todo;
+
+import com.sonny.todo.dto.TodoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and Jackson serialization of the GET /api/todos payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoMappingBenchmark {
+
+    @Param({"10", "1000"})
+    int size;
+
+    private TodoService todoService;
+    private JsonMapper jsonMapper;
+    private List<Todo> todos;
+    private List<TodoResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // toResponse does not touch the repository or the event publisher
+        todoService = new TodoService(null, null, null);
+        jsonMapper = JsonMapper.builder().build();
+        LocalDateTime now = LocalDateTime.now();
+        todos = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            todos.add(new Todo(i, "Todo #" + i, "Description of todo #" + i, i % 2 == 0, now, now));
+        }
+        responses = todos.stream().map(todoService::toResponse).toList();
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (Todo todo : todos) {
+            blackhole.consume(todoService.toResponse(todo));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sonny.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Thin JSON-over-HTTP client for the public API; every call is recorded under its endpoint template.
+ */
+final class ApiClient {
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final LatencyRecorder latencies;
+
+    ApiClient(URI baseUri, LatencyRecorder latencies) {
+        this.baseUri = baseUri;
+        this.latencies = latencies;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Response call(String endpoint, String method, String path, String accessToken, Map<String, ?> body,
+                  long intendedStartNanos) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)));
+        if (accessToken != null) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+        Response response;
+        try {
+            HttpResponse<String> raw = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            JsonNode json = raw.body() == null || raw.body().isBlank() ? null : jsonMapper.readTree(raw.body());
+            response = new Response(raw.statusCode(), json);
+        } catch (IOException e) {
+            response = new Response(-1, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = new Response(-1, null);
+        }
+        latencies.record(endpoint, intendedStartNanos, response.ok());
+        return response;
+    }
+
+    /**
+     * GET with {@code Accept: application/x-ndjson}; lines are consumed as they arrive and only counted.
+     * The recorded latency covers the full stream.
+     */
+    long stream(String endpoint, String path, String accessToken, long intendedStartNanos) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/x-ndjson")
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+        boolean ok = false;
+        long lines = 0;
+        try {
+            HttpResponse<Stream<String>> raw = http.send(request, HttpResponse.BodyHandlers.ofLines());
+            try (Stream<String> body = raw.body()) {
+                lines = body.count();
+            }
+            ok = raw.statusCode() >= 200 && raw.statusCode() < 300;
+        } catch (IOException e) {
+            // Counted as a failure below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        latencies.record(endpoint, intendedStartNanos, ok);
+        return lines;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sonny.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms.
+ * Latency is measured from the <em>intended</em> start of a request (its slot in the arrival schedule),
+ * not from when it was actually sent, so queueing behind a slow request is counted instead of hidden
+ * (coordinated omission correction).
+ */
+final class LatencyRecorder {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long intendedStartNanos, boolean success) {
+        long latency = Math.min(System.nanoTime() - intendedStartNanos, MAX_TRACKABLE_NANOS);
+        recorders.computeIfAbsent(endpoint, e -> new Recorder(MAX_TRACKABLE_NANOS, 3)).recordValue(latency);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    /** Discards everything recorded so far (end of warm-up). */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.clear();
+    }
+
+    void report(PrintStream out, long elapsedNanos) {
+        Map<String, Histogram> snapshot = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> snapshot.put(endpoint, recorder.getIntervalHistogram()));
+        double seconds = elapsedNanos / 1e9;
+
+        out.printf("%-28s %9s %9s %7s %10s %10s %10s %10s%n",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        snapshot.forEach((endpoint, histogram) -> out.printf("%-28s %9d %9.1f %7d %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                errors.getOrDefault(endpoint, new LongAdder()).sum(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,171 @@
+package com.sonny.loadtest;
+
+import com.sonny.DemoApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * End-to-end load test: boots the real application against an embedded Postgres and drives it with an
+ * open-model (fixed arrival rate) schedule, independent of how fast responses come back.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:java -Dloadtest.scenario=journey -Dloadtest.rate=50 -Dloadtest.duration=60}
+ * <p>
+ * Scenarios: {@code journey} (register, login, CRUD, refresh, logout), {@code register-burst}, {@code list},
+ * {@code list-stream} (NDJSON, needs {@code -Dloadtest.profiles=reactive-reads}). {@code -Dloadtest.seed-todos=N}
+ * pre-fills the todo table.
+ * The report is printed and written to {@code target/loadtest-<scenario>.txt}.
+ */
+public final class LoadTestRunner {
+
+    private static final String ADMIN_EMAIL = "admin@loadtest.local";
+
+    public static void main(String[] args) throws Exception {
+        String scenarioName = System.getProperty("loadtest.scenario", "journey");
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+        long warmupSeconds = Long.parseLong(System.getProperty("loadtest.warmup", "15"));
+        long durationSeconds = Long.parseLong(System.getProperty("loadtest.duration", "60"));
+        String profiles = System.getProperty("loadtest.profiles", "");
+        int seedTodos = Integer.parseInt(System.getProperty("loadtest.seed-todos", "0"));
+
+        List<String> appArgs = profiles.isBlank() ? List.of() : List.of("--spring.profiles.active=" + profiles);
+        String report = run(scenarioName, rate, warmupSeconds, durationSeconds, appArgs, seedTodos);
+        writeReport("loadtest-" + scenarioName + ".txt", report);
+    }
+
+    /**
+     * Boots the application with the extra arguments, seeds {@code seedTodos} rows and drives one scenario.
+     * Returns the rendered report.
+     */
+    static String run(String scenarioName, double rate, long warmupSeconds, long durationSeconds,
+                      List<String> appArgs, int seedTodos) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            List<String> args = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    "--app.reactive-reads.url=r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres",
+                    "--app.reactive-reads.username=postgres",
+                    "--app.reactive-reads.password=postgres",
+                    "--spring.devtools.restart.enabled=false",
+                    // Long-lived admin token for the whole run
+                    "--app.jwt.expiration-ms=3600000"));
+            args.addAll(appArgs);
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(DemoApplication.class)
+                    .run(args.toArray(String[]::new));
+            try {
+                seedTodos(jdbcUrl, seedTodos);
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                LatencyRecorder latencies = new LatencyRecorder();
+                ApiClient api = new ApiClient(URI.create("http://localhost:" + port), latencies);
+                Scenarios scenarios = new Scenarios(api, adminAccessToken(api, jdbcUrl));
+                LongConsumer scenario = switch (scenarioName) {
+                    case "journey" -> scenarios::userJourney;
+                    case "register-burst" -> scenarios::registrationBurst;
+                    case "list" -> scenarios::listTodos;
+                    case "list-stream" -> scenarios::streamTodos;
+                    default -> throw new IllegalArgumentException("Unknown scenario: " + scenarioName);
+                };
+
+                System.out.printf("Warm-up: %s at %.1f arrivals/s for %ds%n", scenarioName, rate, warmupSeconds);
+                drive(scenario, rate, TimeUnit.SECONDS.toNanos(warmupSeconds));
+                latencies.reset();
+
+                System.out.printf("Measuring: %s at %.1f arrivals/s for %ds%n", scenarioName, rate, durationSeconds);
+                long elapsed = drive(scenario, rate, TimeUnit.SECONDS.toNanos(durationSeconds));
+                return render(latencies, (scenarioName + " " + String.join(" ", appArgs)).strip(), rate, elapsed);
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    /**
+     * Fires one arrival per slot on a virtual thread; a slow response never delays the next arrival.
+     * Returns the measured wall-clock time including draining of in-flight work.
+     */
+    static long drive(LongConsumer scenario, double rate, long durationNanos) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long slot = start; slot - start < durationNanos; slot += intervalNanos) {
+                long wait = slot - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = slot;
+                executor.execute(() -> scenario.accept(intendedStart));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String adminAccessToken(ApiClient api, String jdbcUrl) throws SQLException {
+        Map<String, String> credentials = Map.of("email", ADMIN_EMAIL, "password", Scenarios.PASSWORD);
+        api.call("setup", "POST", "/api/auth/register", null, credentials, System.nanoTime());
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "postgres", "postgres");
+             PreparedStatement promote = connection.prepareStatement(
+                     "INSERT INTO user_roles (user_id, role) SELECT id, 'ADMIN' FROM users WHERE email = ?")) {
+            promote.setString(1, ADMIN_EMAIL);
+            promote.executeUpdate();
+        }
+        return Scenarios.token(api.call("setup", "POST", "/api/auth/login", null, credentials, System.nanoTime()),
+                "accessToken");
+    }
+
+    private static void seedTodos(String jdbcUrl, int count) throws SQLException {
+        if (count == 0) {
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "postgres", "postgres");
+             PreparedStatement seed = connection.prepareStatement("""
+                     INSERT INTO todos (title, description, completed)
+                     SELECT 'Seeded todo ' || n, 'Load test seed row ' || n, n % 2 = 0
+                     FROM generate_series(1, ?) AS n
+                     """)) {
+            seed.setInt(1, count);
+            seed.executeUpdate();
+        }
+    }
+
+    static String render(LatencyRecorder latencies, String scenario, double rate, long elapsedNanos) {
+        // Interval histograms are consumed on read, so render once and reuse the text
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            out.printf("scenario=%s rate=%.1f/s elapsed=%.1fs (latency from intended start)%n",
+                    scenario, rate, elapsedNanos / 1e9);
+            latencies.report(out, elapsedNanos);
+        }
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        System.out.print(text);
+        return text;
+    }
+
+    static void writeReport(String fileName, String text) throws IOException {
+        Path target = Path.of("target");
+        Files.createDirectories(target);
+        Files.writeString(target.resolve(fileName), text);
+    }
+}
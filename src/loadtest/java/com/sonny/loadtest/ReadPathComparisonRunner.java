@@ -0,0 +1,36 @@
+package com.sonny.loadtest;
+
+import java.util.List;
+
+/**
+ * Blocking vs reactive todo reads under the same open-model polling load. Each run boots a fresh
+ * application and database with the same seed, with a deliberately small Tomcat pool so the blocking path
+ * runs out of servlet threads at a rate the reactive path still absorbs.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.sonny.loadtest.ReadPathComparisonRunner
+ * -Dloadtest.rate=400 -Dloadtest.seed-todos=2000 -Dloadtest.tomcat-threads=20}
+ */
+public final class ReadPathComparisonRunner {
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "400"));
+        long warmupSeconds = Long.parseLong(System.getProperty("loadtest.warmup", "15"));
+        long durationSeconds = Long.parseLong(System.getProperty("loadtest.duration", "60"));
+        int seedTodos = Integer.parseInt(System.getProperty("loadtest.seed-todos", "2000"));
+        String tomcatThreads = "--server.tomcat.threads.max=" + System.getProperty("loadtest.tomcat-threads", "20");
+
+        StringBuilder report = new StringBuilder();
+        report.append("== blocking (JPA, servlet thread per request)\n").append(LoadTestRunner.run(
+                "list", rate, warmupSeconds, durationSeconds, List.of(tomcatThreads), seedTodos));
+        report.append("\n== reactive (R2DBC, JSON array)\n").append(LoadTestRunner.run(
+                "list", rate, warmupSeconds, durationSeconds,
+                List.of(tomcatThreads, "--spring.profiles.active=reactive-reads"), seedTodos));
+        report.append("\n== reactive (R2DBC, NDJSON stream)\n").append(LoadTestRunner.run(
+                "list-stream", rate, warmupSeconds, durationSeconds,
+                List.of(tomcatThreads, "--spring.profiles.active=reactive-reads"), seedTodos));
+
+        System.out.println();
+        System.out.print(report);
+        LoadTestRunner.writeReport("loadtest-read-paths.txt", report.toString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.sonny.loadtest;
+
+import com.sonny.user.Role;
+import com.sonny.user.UserRegistrationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Registration burst against the previous statement sequence (exists check, user insert, role insert,
+ * refresh-token delete + insert in one transaction) and the current single conflict-aware insert.
+ * Both run the same open-model schedule through the same small connection pool; password hashing is
+ * identical on both paths and left out so the report isolates the database round trips.
+ * <p>
+ * {@code mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.sonny.loadtest.RegistrationPathComparisonRunner
+ * -Dloadtest.rate=500 -Dloadtest.pool-size=10}
+ */
+public final class RegistrationPathComparisonRunner {
+
+    // Any bcrypt-shaped value, hashing is not what is compared here
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1KsU1YVXyXlVJjN6PkCmP1i";
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "500"));
+        long warmupSeconds = Long.parseLong(System.getProperty("loadtest.warmup", "10"));
+        long durationSeconds = Long.parseLong(System.getProperty("loadtest.duration", "30"));
+        int poolSize = Integer.parseInt(System.getProperty("loadtest.pool-size", "10"));
+
+        StringBuilder report = new StringBuilder();
+        report.append("== before: exists check + 4 statements per registration\n")
+                .append(run("register (before)", RegistrationPathComparisonRunner::legacyRegistration,
+                        rate, warmupSeconds, durationSeconds, poolSize));
+        report.append("\n== after: one INSERT ... ON CONFLICT with chained CTEs\n")
+                .append(run("register (after)", RegistrationPathComparisonRunner::conflictAwareRegistration,
+                        rate, warmupSeconds, durationSeconds, poolSize));
+
+        System.out.println();
+        System.out.print(report);
+        LoadTestRunner.writeReport("loadtest-registration-paths.txt", report.toString());
+    }
+
+    private interface Registration {
+        boolean register(JdbcClient jdbc, TransactionTemplate transaction, String email);
+    }
+
+    private static String run(String name, Registration registration, double rate, long warmupSeconds,
+                              long durationSeconds, int poolSize) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+             HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(postgres.getJdbcUrl("postgres", "postgres"));
+            dataSource.setUsername("postgres");
+            dataSource.setPassword("postgres");
+            dataSource.setMaximumPoolSize(poolSize);
+            Flyway.configure().dataSource(dataSource).load().migrate();
+
+            JdbcClient jdbc = JdbcClient.create(dataSource);
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            LatencyRecorder latencies = new LatencyRecorder();
+            LongConsumer burst = intendedStart -> {
+                boolean ok;
+                try {
+                    ok = registration.register(jdbc, transaction, "burst-" + UUID.randomUUID() + "@loadtest.local");
+                } catch (RuntimeException e) {
+                    ok = false;
+                }
+                latencies.record(name, intendedStart, ok);
+            };
+
+            System.out.printf("Warm-up: %s at %.1f arrivals/s for %ds%n", name, rate, warmupSeconds);
+            LoadTestRunner.drive(burst, rate, TimeUnit.SECONDS.toNanos(warmupSeconds));
+            latencies.reset();
+
+            System.out.printf("Measuring: %s at %.1f arrivals/s for %ds%n", name, rate, durationSeconds);
+            long elapsed = LoadTestRunner.drive(burst, rate, TimeUnit.SECONDS.toNanos(durationSeconds));
+            return LoadTestRunner.render(latencies, name + " pool=" + poolSize, rate, elapsed);
+        }
+    }
+
+    /**
+     * The statements the JPA registration issued before the single-insert change.
+     */
+    private static boolean legacyRegistration(JdbcClient jdbc, TransactionTemplate transaction, String email) {
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            if (jdbc.sql("SELECT EXISTS (SELECT 1 FROM users WHERE email = ?)").param(email)
+                    .query(Boolean.class).single()) {
+                return false;
+            }
+            UUID userId = jdbc.sql("INSERT INTO users (email, password_hash, created_at) VALUES (?, ?, ?) RETURNING id")
+                    .params(email, PASSWORD_HASH, LocalDateTime.now())
+                    .query(UUID.class).single();
+            jdbc.sql("INSERT INTO user_roles (user_id, role) VALUES (?, ?)")
+                    .params(userId, Role.USER.name())
+                    .update();
+            jdbc.sql("DELETE FROM refresh_tokens WHERE user_id = ?").param(userId).update();
+            jdbc.sql("INSERT INTO refresh_tokens (token, user_id, expires_at, created_at) VALUES (?, ?, ?, ?)")
+                    .params(UUID.randomUUID().toString(), userId,
+                            OffsetDateTime.now(ZoneOffset.UTC).plusDays(7), OffsetDateTime.now(ZoneOffset.UTC))
+                    .update();
+            return true;
+        }));
+    }
+
+    private static boolean conflictAwareRegistration(JdbcClient jdbc, TransactionTemplate transaction, String email) {
+        return transaction.execute(status -> new UserRegistrationRepository(jdbc).register(email, PASSWORD_HASH,
+                Role.USER, UUID.randomUUID().toString(), Instant.now().plusSeconds(TimeUnit.DAYS.toSeconds(7))))
+                .isPresent();
+    }
+}
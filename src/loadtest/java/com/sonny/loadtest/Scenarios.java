@@ -0,0 +1,92 @@
+package com.sonny.loadtest;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Scripted request mixes. Each method is one arrival of the open-model schedule; only the first request
+ * of a script is timed from the scheduled slot, the following ones from the end of the previous step.
+ */
+final class Scenarios {
+
+    static final String PASSWORD = "load-test-password";
+
+    private final ApiClient api;
+    private final String adminAccessToken;
+
+    Scenarios(ApiClient api, String adminAccessToken) {
+        this.api = api;
+        this.adminAccessToken = adminAccessToken;
+    }
+
+    /** register → login → list → create → get → update (admin) → refresh → delete (admin) → logout */
+    void userJourney(long intendedStartNanos) {
+        String email = "user-" + UUID.randomUUID() + "@loadtest.local";
+        Map<String, String> credentials = Map.of("email", email, "password", PASSWORD);
+
+        if (!api.call("POST /api/auth/register", "POST", "/api/auth/register", null, credentials,
+                intendedStartNanos).ok()) {
+            return;
+        }
+        ApiClient.Response login = api.call("POST /api/auth/login", "POST", "/api/auth/login", null, credentials,
+                System.nanoTime());
+        if (!login.ok()) {
+            return;
+        }
+        String accessToken = login.body().get("accessToken").asString();
+        String refreshToken = login.body().get("refreshToken").asString();
+
+        api.call("GET /api/todos", "GET", "/api/todos", accessToken, null, System.nanoTime());
+        ApiClient.Response created = api.call("POST /api/todos", "POST", "/api/todos", accessToken,
+                Map.of("title", "Load test todo", "description", "Created by " + email, "completed", false),
+                System.nanoTime());
+        if (!created.ok()) {
+            return;
+        }
+        long id = created.body().get("id").asLong();
+        String todoPath = "/api/todos/" + id;
+
+        api.call("GET /api/todos/{id}", "GET", todoPath, accessToken, null, System.nanoTime());
+        api.call("PUT /api/todos/{id}", "PUT", todoPath, adminAccessToken,
+                Map.of("title", "Load test todo (done)", "completed", true), System.nanoTime());
+
+        ApiClient.Response refreshed = api.call("POST /api/auth/refresh", "POST", "/api/auth/refresh", null,
+                Map.of("refreshToken", refreshToken), System.nanoTime());
+        if (refreshed.ok()) {
+            accessToken = refreshed.body().get("accessToken").asString();
+        }
+
+        api.call("DELETE /api/todos/{id}", "DELETE", todoPath, adminAccessToken, null, System.nanoTime());
+        api.call("POST /api/auth/logout", "POST", "/api/auth/logout", accessToken, null, System.nanoTime());
+    }
+
+    /**
+     * A single registration per arrival, to stress the registration insert path end to end.
+     * {@link RegistrationPathComparisonRunner} compares it with the previous statement sequence.
+     */
+    void registrationBurst(long intendedStartNanos) {
+        api.call("POST /api/auth/register", "POST", "/api/auth/register", null,
+                Map.of("email", "burst-" + UUID.randomUUID() + "@loadtest.local", "password", PASSWORD),
+                intendedStartNanos);
+    }
+
+    /** Read-only polling of the todo list, the dominant production traffic. */
+    void listTodos(long intendedStartNanos) {
+        api.call("GET /api/todos", "GET", "/api/todos", adminAccessToken, null, intendedStartNanos);
+    }
+
+    /** The list as NDJSON, streamed by the reactive read path and consumed line by line. */
+    void streamTodos(long intendedStartNanos) {
+        api.stream("GET /api/todos (ndjson)", "/api/todos", adminAccessToken, intendedStartNanos);
+    }
+
+    static String token(ApiClient.Response response, String field) {
+        JsonNode body = response.body();
+        if (!response.ok() || body == null) {
+            throw new IllegalStateException("Unexpected response " + response.status());
+        }
+        return body.get(field).asString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.sonny.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start comparison of the plain JVM launch and the AOT-cache launch produced by the aot-cache profile.
+ * For each run it reports the time from process launch to a healthy actuator and to the first
+ * successful GET /api/todos (after register + login).
+ * <p>
+ * {@code mvn -Paot-cache package && mvn -Ploadtest test-compile exec:java
+ * -Dloadtest.main=com.sonny.loadtest.StartupTimeRunner -Dstartup.runs=5}
+ */
+public final class StartupTimeRunner {
+
+    private record Sample(long healthyMillis, long firstTodosMillis) {}
+
+    public static void main(String[] args) throws Exception {
+        Path appDirectory = Path.of(System.getProperty("startup.app-directory", "target/aot-app"));
+        Path jar = Path.of(System.getProperty("startup.jar",
+                appDirectory.resolve("demo-0.0.1-SNAPSHOT.jar").toString()));
+        Path aotCache = appDirectory.resolve("app.aot");
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+
+        Files.createDirectories(Path.of("target"));
+        StringBuilder report = new StringBuilder();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            Map<String, List<String>> modes = Map.of(
+                    "jvm", List.of(),
+                    "aot-cache", List.of("-XX:AOTCache=" + aotCache, "-Dspring.aot.enabled=true"));
+            for (String mode : List.of("jvm", "aot-cache")) {
+                long[] healthy = new long[runs];
+                long[] firstTodos = new long[runs];
+                for (int i = 0; i < runs; i++) {
+                    Sample sample = launch(jar, modes.get(mode), jdbcUrl);
+                    healthy[i] = sample.healthyMillis();
+                    firstTodos[i] = sample.firstTodosMillis();
+                }
+                report.append("%-10s runs=%d  healthy: median %5d ms (min %5d)  first /api/todos: median %5d ms (min %5d)%n"
+                        .formatted(mode, runs, median(healthy), Arrays.stream(healthy).min().orElse(0),
+                                median(firstTodos), Arrays.stream(firstTodos).min().orElse(0)));
+            }
+        }
+        System.out.print(report);
+        Files.writeString(Path.of("target", "startup-report.txt"), report.toString());
+    }
+
+    private static Sample launch(Path jar, List<String> jvmOptions, String jdbcUrl) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of(
+                "-Dserver.port=" + port,
+                "-Dspring.datasource.url=" + jdbcUrl,
+                "-Dspring.datasource.username=postgres",
+                "-Dspring.datasource.password=postgres",
+                "-jar", jar.toString()));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/startup-" + port + ".log"))
+                .start();
+        try {
+            ApiClient api = new ApiClient(URI.create("http://localhost:" + port), new LatencyRecorder());
+            while (!api.call("health", "GET", "/actuator/health", null, null, System.nanoTime()).ok()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited, see target/startup-" + port + ".log");
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            long healthy = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Map<String, String> credentials = Map.of(
+                    "email", "startup-" + UUID.randomUUID() + "@loadtest.local", "password", Scenarios.PASSWORD);
+            api.call("register", "POST", "/api/auth/register", null, credentials, System.nanoTime());
+            String accessToken = Scenarios.token(
+                    api.call("login", "POST", "/api/auth/login", null, credentials, System.nanoTime()), "accessToken");
+            if (!api.call("todos", "GET", "/api/todos", accessToken, null, System.nanoTime()).ok()) {
+                throw new IllegalStateException("First GET /api/todos failed");
+            }
+            return new Sample(healthy, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.sonny.audit;
+
+import com.sonny.config.AuditProperties;
+import com.sonny.deadline.RequestDeadline;
+import com.sonny.todo.TodoChangedEvent;
+import com.sonny.todo.TodosBulkChangedEvent;
+import com.sonny.todo.TodosImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of todo mutations, kept off the write path.
+ * Committed {@link TodoChangedEvent}s are offered to a lock-free ring buffer; a single writer thread
+ * drains it into todo_audit with multi-row inserts. What happens when the buffer is full is
+ * governed by {@link AuditProperties.OverflowPolicy}.
+ */
+@Component
+@EnableConfigurationProperties(AuditProperties.class)
+@Slf4j
+public class TodoAuditLog implements SmartLifecycle {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final TodoAuditRepository repository;
+    private final AuditProperties properties;
+    private final AuditRingBuffer<TodoChangedEvent> buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer lag;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TodoAuditLog(TodoAuditRepository repository, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.buffer = new AuditRingBuffer<>(properties.bufferCapacity());
+        this.written = Counter.builder("todo.audit.written")
+                .description("Audit events persisted")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.audit.dropped")
+                .description("Audit events discarded because the buffer was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("todo.audit.failed")
+                .description("Audit events lost because their batch insert failed")
+                .register(meterRegistry);
+        this.lag = Timer.builder("todo.audit.lag")
+                .description("Delay between a committed change and its audit row")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("todo.audit.pending", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting in the buffer")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (buffer.offer(event)) {
+            return;
+        }
+        switch (properties.overflowPolicy()) {
+            case DROP -> dropped.increment();
+            case BLOCK -> offerBlocking(event);
+            case CALLER_WRITES -> RequestDeadline.runWithout(() -> write(List.of(event)));
+        }
+    }
+
+    /**
+     * Bulk chunks bypass the buffer: a million-row operation would overflow it, and one set-based insert
+     * per chunk is cheap enough to run on the caller thread after commit. Caller-thread writes run outside
+     * the request deadline, which the committed change may already have used up.
+     */
+    @TransactionalEventListener
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        try {
+            RequestDeadline.runWithout(() -> repository.insertBulk(event));
+            written.increment(event.todoIds().size());
+        } catch (RuntimeException e) {
+            failed.increment(event.todoIds().size());
+            log.error("Failed to write {} bulk audit events", event.todoIds().size(), e);
+        }
+    }
+
+    /**
+     * Imports are audited set-based from the rows carrying the import's transaction id. Rows updated
+     * again before this runs no longer match and keep only their own audit entries.
+     */
+    @TransactionalEventListener
+    public void onTodosImported(TodosImportedEvent event) {
+        try {
+            written.increment(RequestDeadline.callWithout(() -> repository.insertImported(event)));
+        } catch (RuntimeException e) {
+            failed.increment(event.count());
+            log.error("Failed to write {} import audit events", event.count(), e);
+        }
+    }
+
+    private void offerBlocking(TodoChangedEvent event) {
+        long deadline = System.nanoTime() + properties.blockTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return;
+            }
+        }
+        dropped.increment();
+    }
+
+    private void drain() {
+        List<TodoChangedEvent> batch = new ArrayList<>(properties.batchSize());
+        long idleNanos = properties.flushInterval().toNanos();
+        while (true) {
+            if (buffer.drainTo(batch, properties.batchSize()) > 0) {
+                write(batch);
+                batch.clear();
+            } else if (running) {
+                LockSupport.parkNanos(idleNanos);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void write(List<TodoChangedEvent> batch) {
+        try {
+            repository.insertAll(batch);
+            written.increment(batch.size());
+            Instant now = Instant.now();
+            for (TodoChangedEvent event : batch) {
+                lag.record(Duration.between(event.occurredAt(), now));
+            }
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("todo-audit-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server so in-flight requests can still enqueue, then flush what is left
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
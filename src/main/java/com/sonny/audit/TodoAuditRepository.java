@@ -0,0 +1,74 @@
+package com.sonny.audit;
+
+import com.sonny.todo.TodoChangedEvent;
+import com.sonny.todo.TodosBulkChangedEvent;
+import com.sonny.todo.TodosImportedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only writes to todo_audit, one multi-row INSERT per batch.
+ */
+@Repository
+@RequiredArgsConstructor
+class TodoAuditRepository {
+
+    private static final String INSERT = "INSERT INTO todo_audit (todo_id, action, actor, before, after, occurred_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?)";
+
+    private final JdbcClient jdbcClient;
+    private final JsonMapper jsonMapper;
+
+    void insertAll(List<TodoChangedEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT.length() + events.size() * (ROW.length() + 2)).append(INSERT);
+        List<Object> params = new ArrayList<>(events.size() * 6);
+        for (int i = 0; i < events.size(); i++) {
+            TodoChangedEvent event = events.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+            params.add(event.todoId());
+            params.add(event.type().name());
+            params.add(event.actor());
+            params.add(event.before() == null ? null : jsonMapper.writeValueAsString(event.before()));
+            params.add(event.after() == null ? null : jsonMapper.writeValueAsString(event.after()));
+            params.add(LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()));
+        }
+        jdbcClient.sql(sql.toString()).params(params).update();
+    }
+
+    /**
+     * One audit row per id of a bulk chunk, inserted set-based from an array parameter.
+     * Bulk rows carry no before/after snapshot.
+     */
+    void insertBulk(TodosBulkChangedEvent event) {
+        jdbcClient.sql("""
+                        INSERT INTO todo_audit (todo_id, action, actor, occurred_at)
+                        SELECT todo_id, ?, ?, ? FROM unnest(?::bigint[]) AS todo_id
+                        """)
+                .params(event.type().name(),
+                        event.actor(),
+                        LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()),
+                        event.todoIds().toArray(Long[]::new))
+                .update();
+    }
+
+    /**
+     * One CREATED row per imported todo, selected by the import's transaction id.
+     */
+    int insertImported(TodosImportedEvent event) {
+        return jdbcClient.sql("""
+                        INSERT INTO todo_audit (todo_id, action, actor, occurred_at)
+                        SELECT id, 'CREATED', ?, ? FROM todos WHERE change_xid = ?
+                        """)
+                .params(event.actor(),
+                        LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()),
+                        event.changeXid())
+                .update();
+    }
+}
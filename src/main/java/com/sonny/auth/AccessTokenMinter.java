@@ -0,0 +1,118 @@
+package com.sonny.auth;
+
+import com.sonny.config.JwtProperties;
+import com.sonny.user.Role;
+import com.sonny.user.User;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * HS256 access-token issuer specialised for our single claim layout.
+ * Replaces the generic NimbusJwtEncoder on the login/refresh path: the header is serialized once,
+ * each thread keeps an initialised {@link Mac} and a reusable buffer, and roles are written directly
+ * instead of being collected into a set. Tokens are plain compact JWS and decode with NimbusJwtDecoder.
+ */
+@Component
+public class AccessTokenMinter {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final String ENCODED_HEADER = BASE64_URL.encodeToString(
+            "{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final JwtProperties jwtProperties;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    public AccessTokenMinter(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        SecretKeySpec key = new SecretKeySpec(jwtProperties.secret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        Mac prototype = newMac(key);
+        // Mac is not thread-safe: every thread clones the initialised prototype once
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                return newMac(key);
+            }
+        });
+    }
+
+    @Timed(value = "auth.token.mint", histogram = true)
+    public String mint(User user) {
+        return mint(user, Instant.now());
+    }
+
+    String mint(User user, Instant now) {
+        long issuedAt = now.getEpochSecond();
+        long expiresAt = now.plusMillis(jwtProperties.expirationMs()).getEpochSecond();
+
+        StringBuilder json = buffers.get();
+        json.setLength(0);
+        json.append("{\"sub\":");
+        appendString(json, user.getEmail());
+        json.append(",\"authorities\":[");
+        boolean first = true;
+        for (Role role : user.getRoles()) {
+            if (role == null) {
+                continue; // user_roles.role is nullable
+            }
+            if (!first) {
+                json.append(',');
+            }
+            json.append('"').append(role.name()).append('"');
+            first = false;
+        }
+        json.append("],\"iat\":").append(issuedAt)
+                .append(",\"exp\":").append(expiresAt)
+                .append(",\"jti\":\"").append(UUID.randomUUID()).append('"')
+                .append(",\"").append(TokenEpochStore.CLAIM).append("\":").append(user.getTokenEpoch())
+                .append('}');
+
+        String signingInput = ENCODED_HEADER + '.'
+                + BASE64_URL.encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signature = macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64_URL.encodeToString(signature);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM + " signer", e);
+        }
+    }
+}
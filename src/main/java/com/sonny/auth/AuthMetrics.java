@@ -0,0 +1,38 @@
+package com.sonny.auth;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size gauges for the in-memory blacklist and the refresh_tokens table.
+ * The row count is refreshed on a schedule rather than on every scrape to keep COUNT(*) off the hot path.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthMetrics implements MeterBinder {
+
+    private final TokenBlacklist tokenBlacklist;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AtomicLong refreshTokenRows = new AtomicLong();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.token_blacklist.size", tokenBlacklist, TokenBlacklist::size)
+                .description("Revoked JWT ids held in memory")
+                .register(registry);
+        Gauge.builder("refresh_tokens.rows", refreshTokenRows, AtomicLong::get)
+                .description("Rows in the refresh_tokens table, sampled periodically")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.refresh-token-count-interval:PT1M}")
+    public void sampleRefreshTokenRows() {
+        refreshTokenRows.set(refreshTokenRepository.count());
+    }
+}
@@ -6,50 +6,64 @@ import com.sonny.auth.dto.RegisterRequest;
 import com.sonny.config.JwtProperties;
 import com.sonny.exception.EmailAlreadyExistsException;
 import com.sonny.exception.InvalidRefreshTokenException;
+import com.sonny.user.Role;
 import com.sonny.user.User;
+import com.sonny.user.UserRegistrationRepository;
 import com.sonny.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
-import java.util.Collection;
-import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "auth.service", histogram = true)
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserRegistrationRepository userRegistrationRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final JwtEncoder jwtEncoder;
+    private final AccessTokenMinter accessTokenMinter;
     private final JwtDecoder jwtDecoder;
     private final TokenBlacklist tokenBlacklist;
+    private final TokenEpochStore tokenEpochStore;
     private final JwtProperties jwtProperties;
     private final RefreshTokenService refreshTokenService;
 
+    /**
+     * Inserts the user, their default role and their first refresh token in one round trip.
+     * A concurrent registration of the same email loses on the unique constraint and gets a 409.
+     */
     @Transactional
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.email())) {
-            throw new EmailAlreadyExistsException(request.email());
-        }
+        String refreshToken = UUID.randomUUID().toString();
+        UUID userId = userRegistrationRepository.register(
+                        request.email(),
+                        passwordEncoder.encode(request.password()),
+                        Role.USER,
+                        refreshToken,
+                        Instant.now().plusMillis(jwtProperties.refreshTokenExpirationMs()))
+                .orElseThrow(() -> new EmailAlreadyExistsException(request.email()));
         User user = User.builder()
+                .id(userId)
                 .email(request.email())
-                .passwordHash(passwordEncoder.encode(request.password()))
                 .build();
-        userRepository.save(user);
-        return buildResponse(user);
+        return new AuthResponse(
+                generateAccessToken(user),
+                refreshToken
+        );
     }
 
     @Transactional
@@ -78,6 +92,33 @@ public class AuthService {
         }
     }
 
+    /**
+     * Revokes every access and refresh token of the caller by bumping their token epoch.
+     * The in-memory epoch is only advanced once the new value is committed.
+     */
+    @Transactional
+    public void logoutAll(String bearerToken) {
+        String token = bearerToken.replace("Bearer ", "");
+        try {
+            Jwt jwt = jwtDecoder.decode(token);
+            String email = jwt.getSubject();
+            if (userRepository.incrementTokenEpoch(email) == 0) {
+                return;
+            }
+            int epoch = userRepository.findTokenEpochByEmail(email).orElseThrow();
+            userRepository.findByEmail(email)
+                    .ifPresent(refreshTokenService::deleteByUser);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenEpochStore.advance(email, epoch);
+                }
+            });
+        } catch (JwtException ignored) {
+            // Token already invalid — nothing to revoke
+        }
+    }
+
     /**
      * Exchanges a valid refresh token for a new access token + rotated refresh token.
      * The presented refresh token is invalidated immediately (single-use).
@@ -87,33 +128,19 @@ public class AuthService {
         RefreshToken newRefreshToken = refreshTokenService.rotate(refreshTokenValue);
         User user = newRefreshToken.getUser();
         return new AuthResponse(
-                generateAccessToken(user.getEmail(), user.getAuthorities()),
+                generateAccessToken(user),
                 newRefreshToken.getToken()
         );
     }
 
     private AuthResponse buildResponse(User user) {
         return new AuthResponse(
-                generateAccessToken(user.getEmail(), user.getAuthorities()),
+                generateAccessToken(user),
                 refreshTokenService.create(user).getToken()
         );
     }
 
-    private String generateAccessToken(String email, Collection<? extends GrantedAuthority> authorities) {
-        Instant now = Instant.now();
-        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
-
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                .subject(email)
-                .claim("authorities", authorities.stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .filter(Objects::nonNull)
-                        .filter(authority -> !authority.equals("FACTOR_PASSWORD"))
-                        .collect(Collectors.toSet()))
-                .issuedAt(now)
-                .expiresAt(now.plusMillis(jwtProperties.expirationMs()))
-                .id(UUID.randomUUID().toString())
-                .build();
-        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    private String generateAccessToken(User user) {
+        return accessTokenMinter.mint(user);
     }
 }
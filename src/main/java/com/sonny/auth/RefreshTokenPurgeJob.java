@@ -0,0 +1,82 @@
+package com.sonny.auth;
+
+import com.sonny.config.RefreshTokenPurgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background purge of expired refresh tokens.
+ * Rows are removed in small chunks (one transaction each) so the job never holds long locks,
+ * and every run stops once its time budget is spent, leaving the rest for the next run.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.refresh-token-purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenPurgeProperties properties;
+    private final Counter purgedCounter;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public RefreshTokenPurgeJob(RefreshTokenService refreshTokenService,
+                                RefreshTokenPurgeProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenService = refreshTokenService;
+        this.properties = properties;
+        this.purgedCounter = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the background purge")
+                .register(meterRegistry);
+        Gauge.builder("refresh_tokens.purge.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest expired refresh token still in the table")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.refresh-token-purge.interval}",
+            initialDelayString = "${app.refresh-token-purge.interval}")
+    public void purgeExpiredTokens() {
+        Instant cutoff = Instant.now();
+        long deadline = System.nanoTime() + properties.timeBudget().toNanos();
+        int batchSize = properties.batchSize();
+        long total = 0;
+        int deleted;
+
+        do {
+            deleted = refreshTokenService.purgeExpiredBatch(cutoff, batchSize);
+            total += deleted;
+            purgedCounter.increment(deleted);
+        } while (deleted == batchSize && System.nanoTime() < deadline && pause());
+
+        lagSeconds.set(refreshTokenService.findOldestExpired(cutoff)
+                .map(oldest -> Duration.between(oldest, cutoff).toSeconds())
+                .orElse(0L));
+
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens (lag {}s)", total, lagSeconds.get());
+        }
+    }
+
+    private boolean pause() {
+        Duration pause = properties.batchPause();
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
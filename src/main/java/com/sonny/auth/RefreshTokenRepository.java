@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +17,21 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
     void deleteByUser(@Param("user") User user);
+
+    /**
+     * Deletes at most {@code limit} tokens that expired before {@code cutoff}.
+     * The sub-select walks idx_refresh_tokens_expires_at, so each call only touches a bounded chunk.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (SELECT id FROM refresh_tokens
+                         WHERE expires_at < :cutoff
+                         ORDER BY expires_at
+                         LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Query("SELECT MIN(rt.expiresAt) FROM RefreshToken rt WHERE rt.expiresAt < :cutoff")
+    Optional<Instant> findOldestExpiredBefore(@Param("cutoff") Instant cutoff);
 }
@@ -2,12 +2,15 @@ package com.sonny.auth;
 
 import com.sonny.config.JwtProperties;
 import com.sonny.exception.InvalidRefreshTokenException;
+import com.sonny.jfr.RefreshTokenRotateEvent;
 import com.sonny.user.User;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -40,20 +43,46 @@ public class RefreshTokenService {
      * must re-authenticate — this limits the impact of token theft.
      */
     @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    @Timed(value = "auth.refresh_token.rotate", histogram = true)
     public RefreshToken rotate(String tokenValue) {
-        RefreshToken existing = refreshTokenRepository.findByToken(tokenValue)
-                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found or already used"));
+        RefreshTokenRotateEvent event = new RefreshTokenRotateEvent();
+        event.begin();
+        try {
+            RefreshToken existing = refreshTokenRepository.findByToken(tokenValue).orElse(null);
+            if (existing == null) {
+                event.outcome = RefreshTokenRotateEvent.NOT_FOUND;
+                throw new InvalidRefreshTokenException("Refresh token not found or already used");
+            }
 
-        if (existing.getExpiresAt().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(existing);
-            throw new InvalidRefreshTokenException("Refresh token has expired");
-        }
+            if (existing.getExpiresAt().isBefore(Instant.now())) {
+                event.outcome = RefreshTokenRotateEvent.EXPIRED;
+                refreshTokenRepository.delete(existing);
+                throw new InvalidRefreshTokenException("Refresh token has expired");
+            }
 
-        // Delete the old token before issuing a new one (rotation)
-        return create(existing.getUser());
+            // Delete the old token before issuing a new one (rotation)
+            RefreshToken rotated = create(existing.getUser());
+            event.outcome = RefreshTokenRotateEvent.ROTATED;
+            return rotated;
+        } finally {
+            event.commit();
+        }
     }
 
     public void deleteByUser(User user) {
         refreshTokenRepository.deleteByUser(user);
     }
+
+    /**
+     * Deletes one bounded chunk of expired tokens in its own transaction.
+     * Returns the number of rows removed; fewer than {@code batchSize} means the backlog is drained.
+     */
+    public int purgeExpiredBatch(Instant cutoff, int batchSize) {
+        return refreshTokenRepository.deleteExpiredBatch(cutoff, batchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Instant> findOldestExpired(Instant cutoff) {
+        return refreshTokenRepository.findOldestExpiredBefore(cutoff);
+    }
 }
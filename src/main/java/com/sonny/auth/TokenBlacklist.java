@@ -24,6 +24,10 @@ public class TokenBlacklist {
         return blacklist.containsKey(tokenId);
     }
 
+    public int size() {
+        return blacklist.size();
+    }
+
     // todo: schedule periodic cleanup of expired tokens to prevent memory bloat
     public void cleanupExpiredTokens() {
         blacklist.entrySet().removeIf(entry -> Instant.now().isAfter(entry.getValue()));
@@ -0,0 +1,78 @@
+package com.sonny.auth;
+
+import com.sonny.config.TokenEpochCacheProperties;
+import com.sonny.user.UserRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cached view of each user's token epoch (users.token_epoch), keyed by email (the JWT subject).
+ * Access tokens carry the epoch they were issued under; bumping it revokes all of them at once.
+ * <p>
+ * The column stays the source of truth. Entries are loaded on first use and trusted for the configured
+ * TTL, subjects without a row included (as epoch 0), so each subject costs at most one query per TTL.
+ * A logout-all on this instance advances the entry after commit and takes effect at once; on other
+ * instances it takes effect when their entry expires, so earlier tokens stay valid there for up to one TTL.
+ * At most {@code max-entries} subjects are kept; all share one TTL, so the eldest is evicted first.
+ */
+@Component
+@EnableConfigurationProperties(TokenEpochCacheProperties.class)
+public class TokenEpochStore {
+
+    public static final String CLAIM = "epoch";
+
+    private record Entry(int epoch, long expiresAtNanos) {}
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public TokenEpochStore(UserRepository userRepository, TokenEpochCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.ttlNanos = properties.ttl().toNanos();
+        int maxEntries = properties.maxEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public int currentEpoch(String email) {
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+            return entry.epoch();
+        }
+        int loaded = userRepository.findTokenEpochByEmail(email).orElse(0);
+        return store(email, loaded, false);
+    }
+
+    public boolean isRevoked(String email, int tokenEpoch) {
+        return tokenEpoch < currentEpoch(email);
+    }
+
+    public void advance(String email, int epoch) {
+        store(email, epoch, true);
+    }
+
+    /**
+     * Keeps the higher of the new and the cached epoch, so a load that raced with an advance never moves
+     * the epoch back. A load does replace an expired entry: the column may have been bumped elsewhere since.
+     */
+    private int store(String email, int epoch, boolean advancing) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            // Removed and put back so the rewritten entry moves to the young end of the insertion order
+            Entry existing = entries.remove(email);
+            boolean keep = existing != null && (advancing || existing.expiresAtNanos() - now > 0);
+            int value = keep ? Math.max(existing.epoch(), epoch) : epoch;
+            entries.put(email, new Entry(value, now + ttlNanos));
+            return value;
+        }
+    }
+}
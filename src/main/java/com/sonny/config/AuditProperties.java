@@ -0,0 +1,27 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.audit")
+@Validated
+public record AuditProperties(
+        @Min(2) int bufferCapacity,          // Rounded up to a power of two
+        @Min(1) int batchSize,               // Rows per multi-row INSERT
+        @NotNull Duration flushInterval,     // Writer sleep when the buffer is empty
+        @NotNull OverflowPolicy overflowPolicy,
+        @NotNull Duration blockTimeout       // Max wait for free space with BLOCK before dropping
+) {
+    public enum OverflowPolicy {
+        /** Discard the new event and count it as dropped. */
+        DROP,
+        /** Wait up to block-timeout for the writer to free a slot, then drop. */
+        BLOCK,
+        /** Insert the event synchronously on the calling thread (after commit, outside the write transaction). */
+        CALLER_WRITES
+    }
+}
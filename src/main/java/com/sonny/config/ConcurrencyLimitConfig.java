@@ -0,0 +1,46 @@
+package com.sonny.config;
+
+import com.sonny.limit.AdaptiveConcurrencyLimit;
+import com.sonny.limit.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Separate limits for the todo and auth endpoints: login/register latency is dominated by BCrypt,
+ * so mixing both into one baseline would hide a slow database behind slow hashing.
+ * The filters run ahead of the security filter chain so shed requests cost almost nothing.
+ * Import and bulk endpoints run for minutes under their own deadlines and bypass the limit entirely.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> todoConcurrencyLimitFilter(
+            ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        return registration("todos", properties, meterRegistry, "/api/todos", "/api/todos/*");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> authConcurrencyLimitFilter(
+            ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        return registration("auth", properties, meterRegistry, "/api/auth/*");
+    }
+
+    private static FilterRegistrationBean<ConcurrencyLimitFilter> registration(
+            String group, ConcurrencyLimitProperties properties, MeterRegistry meterRegistry, String... urlPatterns) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(group,
+                new AdaptiveConcurrencyLimit(properties, System::nanoTime), properties.excludedPaths(), meterRegistry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setName(group + "ConcurrencyLimitFilter");
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
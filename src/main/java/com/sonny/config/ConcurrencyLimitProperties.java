@@ -0,0 +1,25 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+@Validated
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        @Min(1) int initialLimit,
+        @Min(1) int minLimit,                                  // Never shed below this many in-flight requests
+        @Min(1) int maxLimit,
+        @DecimalMin("1.0") double rttTolerance,                // Latency ratio over the baseline tolerated before shrinking
+        @DecimalMin("0.01") @DecimalMax("1.0") double smoothing, // Weight of a new estimate against the current limit
+        @NotNull Duration sampleWindow,                        // Latency samples are averaged over this window
+        @Min(1) int baselineWindows,                           // Windows averaged into the long-term latency baseline
+        @NotNull List<String> excludedPaths                    // Long-running endpoints kept out of the limit and its latency samples
+) {}
@@ -0,0 +1,46 @@
+package com.sonny.config;
+
+import com.sonny.deadline.DeadlineStatementListener;
+import com.sonny.profiling.SqlPhaseListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps each DataSource in a single datasource-proxy carrying the JDBC listeners of whichever features are
+ * enabled, so statements pass through one proxy layer however many features observe them.
+ * The deadline listener runs first: a statement it refuses never opens a profiler phase.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor listeningDataSourcePostProcessor(
+            ObjectProvider<DeadlineStatementListener> deadlineStatementListener,
+            ObjectProvider<SqlPhaseListener> sqlPhaseListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                List<QueryExecutionListener> listeners = new ArrayList<>();
+                deadlineStatementListener.ifAvailable(listeners::add);
+                sqlPhaseListener.ifAvailable(listeners::add);
+                if (listeners.isEmpty()) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource);
+                listeners.forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.sonny.config;
+
+import com.sonny.jfr.ContinuousRecording;
+import com.sonny.jfr.FlightRecordingEndpoint;
+import com.sonny.jfr.TodoServiceFlightRecorderAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Continuous flight recording, the application events feeding it, and the dump endpoint.
+ * The auth events are emitted inline by their call sites and cost nothing when this is disabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    @Bean
+    public ContinuousRecording continuousRecording(FlightRecorderProperties properties) {
+        return new ContinuousRecording(properties.settings(), properties.maxAge(),
+                properties.maxSize().toBytes(), properties.eventThreshold());
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(ContinuousRecording continuousRecording,
+                                                           FlightRecorderProperties properties) {
+        return new FlightRecordingEndpoint(continuousRecording, properties.defaultDumpWindow());
+    }
+
+    @Bean
+    public TodoServiceFlightRecorderAspect todoServiceFlightRecorderAspect() {
+        return new TodoServiceFlightRecorderAspect();
+    }
+}
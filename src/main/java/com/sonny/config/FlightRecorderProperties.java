@@ -0,0 +1,20 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.jfr")
+@Validated
+public record FlightRecorderProperties(
+        boolean enabled,
+        @NotBlank String settings,            // JDK settings file for built-in events: default or profile
+        @NotNull Duration maxAge,             // Rolling window kept on disk
+        @NotNull DataSize maxSize,            // Disk cap; the oldest chunks go first
+        @NotNull Duration eventThreshold,     // Application events shorter than this are not recorded
+        @NotNull Duration defaultDumpWindow   // What /actuator/jfr returns without ?minutes=
+) {}
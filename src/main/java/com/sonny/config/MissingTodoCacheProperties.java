@@ -0,0 +1,16 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.missing-todo-cache")
+@Validated
+public record MissingTodoCacheProperties(
+        boolean enabled,
+        @NotNull Duration ttl,         // How long a miss is remembered; bounds staleness across instances
+        @Min(1) int maxEntries         // Beyond this the oldest remembered miss is evicted
+) {}
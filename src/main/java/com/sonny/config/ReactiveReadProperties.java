@@ -0,0 +1,16 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.reactive-reads")
+@Validated
+public record ReactiveReadProperties(
+        @NotBlank String url,            // r2dbc:postgresql://host:port/database
+        String username,
+        String password,
+        @Min(1) int maxPoolSize,         // Connections shared by all in-flight reactive reads
+        @Min(1) int fetchSize            // Rows requested from Postgres per round trip while streaming
+) {}
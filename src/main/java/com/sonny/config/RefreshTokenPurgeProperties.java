@@ -0,0 +1,18 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.refresh-token-purge")
+@Validated
+public record RefreshTokenPurgeProperties(
+        boolean enabled,
+        @NotNull Duration interval,      // Delay between two purge runs
+        @Min(1) int batchSize,           // Rows deleted per statement / transaction
+        @NotNull Duration batchPause,    // Pause between two batches of the same run
+        @NotNull Duration timeBudget     // Maximum wall-clock time spent in a single run
+) {}
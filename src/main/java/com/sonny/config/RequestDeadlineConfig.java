@@ -0,0 +1,45 @@
+package com.sonny.config;
+
+import com.sonny.deadline.DeadlineAwareJpaTransactionManager;
+import com.sonny.deadline.DeadlineStatementListener;
+import com.sonny.deadline.RequestDeadlineFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Request deadlines: the filter starts the clock, the transaction manager and a JDBC listener turn the
+ * remaining budget into transaction and statement timeouts. Replaces Spring Boot's JPA transaction manager.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-deadline", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RequestDeadlineProperties.class)
+public class RequestDeadlineConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(RequestDeadlineProperties properties) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration = new FilterRegistrationBean<>(
+                new RequestDeadlineFilter(properties.header(), properties.defaultTimeout(),
+                        properties.maxTimeout(), properties.endpoints()));
+        registration.addUrlPatterns("/api/*");
+        // After the profiler, before the concurrency limit: time spent queueing counts against the budget
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new DeadlineAwareJpaTransactionManager(entityManagerFactory);
+    }
+
+    // Attached to the DataSource by DataSourceProxyConfig
+    @Bean
+    public DeadlineStatementListener deadlineStatementListener() {
+        return new DeadlineStatementListener();
+    }
+}
@@ -0,0 +1,23 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.request-deadline")
+@Validated
+public record RequestDeadlineProperties(
+        boolean enabled,
+        @NotBlank String header,                 // Client budget in milliseconds
+        @NotNull Duration defaultTimeout,        // Budget for paths without an endpoint entry
+        @NotNull Duration maxTimeout,            // Upper bound for the header value
+        Map<String, Duration> endpoints          // Path pattern -> budget, first match wins
+) {
+    public RequestDeadlineProperties {
+        endpoints = endpoints == null ? Map.of() : endpoints;
+    }
+}
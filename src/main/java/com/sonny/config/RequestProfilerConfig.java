@@ -0,0 +1,87 @@
+package com.sonny.config;
+
+import com.sonny.profiling.PhaseBoundaryFilter;
+import com.sonny.profiling.RequestProfiler;
+import com.sonny.profiling.RequestProfilingFilter;
+import com.sonny.profiling.SerializationPhaseAdvice;
+import com.sonny.profiling.SlowRequestBuffer;
+import com.sonny.profiling.SlowRequestsEndpoint;
+import com.sonny.profiling.SqlPhaseListener;
+import com.sonny.profiling.TransactionPhaseListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires the slow-request sampler: the outermost profiling filter, markers around the Spring Security
+ * filter chain, and hooks into transactions, JDBC and response serialization.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-profiler", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestProfilerProperties.class)
+public class RequestProfilerConfig implements WebMvcConfigurer {
+
+    // Order of Spring Boot's springSecurityFilterChain registration (spring.security.filter.order)
+    private static final int SECURITY_FILTER_ORDER = -100;
+
+    @Bean
+    public SlowRequestBuffer slowRequestBuffer(RequestProfilerProperties properties) {
+        return new SlowRequestBuffer(properties.bufferCapacity());
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestBuffer slowRequestBuffer) {
+        return new SlowRequestsEndpoint(slowRequestBuffer);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilter(
+            RequestProfilerProperties properties, SlowRequestBuffer slowRequestBuffer, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestProfilingFilter> registration = new FilterRegistrationBean<>(
+                new RequestProfilingFilter(slowRequestBuffer, properties.slowThreshold().toNanos(),
+                        properties.maxPhases(), meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PhaseBoundaryFilter> securityPhaseStartFilter() {
+        FilterRegistrationBean<PhaseBoundaryFilter> registration = new FilterRegistrationBean<>(
+                new PhaseBoundaryFilter(RequestProfiler.SECURITY, true));
+        // Both wrap the same filter class: without explicit names the container sees one name twice
+        registration.setName("securityPhaseStartFilter");
+        registration.setOrder(SECURITY_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PhaseBoundaryFilter> securityPhaseEndFilter() {
+        FilterRegistrationBean<PhaseBoundaryFilter> registration = new FilterRegistrationBean<>(
+                new PhaseBoundaryFilter(RequestProfiler.SECURITY, false));
+        registration.setName("securityPhaseEndFilter");
+        registration.setOrder(SECURITY_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public TransactionPhaseListener transactionPhaseListener() {
+        return new TransactionPhaseListener();
+    }
+
+    // Attached to the DataSource by DataSourceProxyConfig
+    @Bean
+    public SqlPhaseListener sqlPhaseListener() {
+        return new SqlPhaseListener();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(SerializationPhaseAdvice.INTERCEPTOR);
+    }
+}
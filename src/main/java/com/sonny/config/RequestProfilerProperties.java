@@ -0,0 +1,17 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.request-profiler")
+@Validated
+public record RequestProfilerProperties(
+        boolean enabled,
+        @NotNull Duration slowThreshold,    // Only requests at least this slow keep their phase breakdown
+        @Min(1) int bufferCapacity,         // Slow requests retained, rounded up to a power of two; oldest are overwritten
+        @Min(8) int maxPhases               // Phases recorded per request, extra ones are counted but not kept
+) {}
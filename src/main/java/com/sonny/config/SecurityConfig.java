@@ -1,8 +1,15 @@
 package com.sonny.config;
 
-import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.sonny.auth.TokenBlacklist;
-import lombok.extern.slf4j.Slf4j;
+import com.sonny.auth.TokenEpochStore;
+import com.sonny.jfr.JwtDecodeEvent;
+import com.sonny.jfr.TokenRevocationCheckEvent;
+import com.sonny.logging.LogRateLimiter;
+import com.sonny.profiling.RequestProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,14 +31,18 @@ import org.springframework.security.web.SecurityFilterChain;
 
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @EnableConfigurationProperties(JwtProperties.class)
-@Slf4j
 public class SecurityConfig {
 
+    // Switch at runtime with POST /actuator/loggers/com.sonny.security.jwt-claims {"configuredLevel":"DEBUG"}
+    private static final Logger CLAIMS_LOG = LoggerFactory.getLogger("com.sonny.security.jwt-claims");
+    private static final LogRateLimiter CLAIMS_LOG_LIMIT = new LogRateLimiter(10, Duration.ofSeconds(1));
+
     private final JwtProperties jwtProperties;
 
     public SecurityConfig(JwtProperties jwtProperties) {
@@ -45,6 +56,9 @@ public class SecurityConfig {
                 .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/slowrequests", "/actuator/jfr", "/actuator/loggers/**",
+                                "/actuator/readmodel").hasRole("ADMIN")
                         .requestMatchers("/api/todos/**").hasRole("USER")
                         //.requestMatchers("/api/todos/**").authenticated()
                         .anyRequest().authenticated()
@@ -69,14 +83,15 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                            PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
@@ -86,24 +101,54 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(TokenBlacklist tokenBlacklist) {
+    public JwtDecoder jwtDecoder(TokenBlacklist tokenBlacklist, TokenEpochStore tokenEpochStore,
+                                 MeterRegistry meterRegistry) {
         SecretKeySpec key = secretKey();
         NimbusJwtDecoder delegate = NimbusJwtDecoder.withSecretKey(key).build();
+        Timer decodeTimer = Timer.builder("auth.jwt.decode")
+                .description("JWT parsing, signature and claim validation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer revocationTimer = Timer.builder("auth.jwt.revocation_check")
+                .description("Blacklist and token-epoch lookup for a decoded JWT")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
 
-        // Wrap to reject blacklisted tokens
+        // Wrap to reject blacklisted tokens and tokens issued before the user's last "log out everywhere"
         return token -> {
-            Jwt jwt = delegate.decode(token);
-            log.error("JWT Claims: {}", jwt.getClaims());
-            if (tokenBlacklist.isRevoked(jwt.getId())) {
+            JwtDecodeEvent decodeEvent = new JwtDecodeEvent();
+            decodeEvent.begin();
+            Jwt jwt;
+            try {
+                jwt = RequestProfiler.phase(RequestProfiler.JWT_DECODE,
+                        () -> decodeTimer.record(() -> delegate.decode(token)));
+                decodeEvent.valid = true;
+            } finally {
+                decodeEvent.commit();
+            }
+            if (CLAIMS_LOG.isDebugEnabled() && CLAIMS_LOG_LIMIT.tryAcquire()) {
+                CLAIMS_LOG.debug("JWT claims: {} ({} similar suppressed)", jwt.getClaims(),
+                        CLAIMS_LOG_LIMIT.drainSuppressed());
+            }
+            TokenRevocationCheckEvent revocationEvent = new TokenRevocationCheckEvent();
+            revocationEvent.begin();
+            boolean revoked = RequestProfiler.phase(RequestProfiler.JWT_REVOCATION_CHECK,
+                    () -> revocationTimer.record(() -> isRevoked(jwt, tokenBlacklist, tokenEpochStore)));
+            revocationEvent.revoked = revoked;
+            revocationEvent.commit();
+            if (revoked) {
                 throw new JwtException("Token has been revoked");
             }
             return jwt;
         };
     }
 
-    @Bean
-    public JwtEncoder jwtEncoder() {
-        return new NimbusJwtEncoder(new ImmutableSecret<>(secretKey()));
+    private static boolean isRevoked(Jwt jwt, TokenBlacklist tokenBlacklist, TokenEpochStore tokenEpochStore) {
+        if (tokenBlacklist.isRevoked(jwt.getId())) {
+            return true;
+        }
+        Number epoch = jwt.getClaim(TokenEpochStore.CLAIM);
+        return tokenEpochStore.isRevoked(jwt.getSubject(), epoch == null ? 0 : epoch.intValue());
     }
 
     private SecretKeySpec secretKey() {
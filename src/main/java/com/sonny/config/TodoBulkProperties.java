@@ -0,0 +1,11 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.todo-bulk")
+@Validated
+public record TodoBulkProperties(
+        @Min(1) int chunkSize       // Rows touched per statement / transaction
+) {}
@@ -0,0 +1,18 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.todo-create-batching")
+@Validated
+public record TodoCreateBatchingProperties(
+        boolean enabled,
+        @Min(1) int maxBatchSize,          // Creates committed together in one multi-row INSERT
+        @NotNull Duration maxWait,         // How long the first create of a batch waits for company
+        @Min(1) int queueCapacity,         // Pending creates; beyond this callers insert on their own
+        @NotNull Duration callerTimeout    // Give up waiting for the batch commit after this
+) {}
@@ -0,0 +1,13 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.todo-import")
+@Validated
+public record TodoImportProperties(
+        @Min(0) int maxReportedErrors,     // Row errors kept in the report; the rest are only counted
+        @Min(1) int progressInterval,      // Log progress every this many input rows
+        @Min(1024) int copyBufferSize      // Bytes buffered before each write to the COPY stream
+) {}
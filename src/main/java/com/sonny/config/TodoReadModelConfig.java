@@ -0,0 +1,33 @@
+package com.sonny.config;
+
+import com.sonny.readmodel.TodoReadModel;
+import com.sonny.readmodel.TodoReadModelEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Serves todo reads from an in-memory projection. Consistent only on a single instance:
+ * writes made through other instances never reach this one's model.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.todo-read-model", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TodoReadModelProperties.class)
+public class TodoReadModelConfig {
+
+    @Bean
+    public TodoReadModel todoReadModel(TodoReadModelProperties properties, DataSource dataSource,
+                                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        return new TodoReadModel(properties, dataSource, transactionManager, meterRegistry);
+    }
+
+    @Bean
+    public TodoReadModelEndpoint todoReadModelEndpoint(TodoReadModel todoReadModel) {
+        return new TodoReadModelEndpoint(todoReadModel);
+    }
+}
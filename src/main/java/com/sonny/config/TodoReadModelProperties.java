@@ -0,0 +1,13 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.todo-read-model")
+@Validated
+public record TodoReadModelProperties(
+        boolean enabled,
+        @Min(1) int segmentSize,       // Rows per immutable segment; a write copies one segment
+        @Min(1) int fetchSize          // Rows per round trip when building or applying imports
+) {}
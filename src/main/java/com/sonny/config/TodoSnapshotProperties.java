@@ -0,0 +1,15 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.todo-snapshot")
+@Validated
+public record TodoSnapshotProperties(
+        @Min(1) int blockRows,         // Rows per columnar block in the snapshot file
+        @Min(1) int fetchSize,         // JDBC fetch size while streaming todos out
+        @NotNull DataSize mapWindow    // Size of each memory-mapped region while writing
+) {}
@@ -0,0 +1,12 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "app.todo-suggest")
+@Validated
+public record TodoSuggestProperties(
+        boolean enabled,
+        @Min(1) int fetchSize          // Rows per round trip while building the index at startup
+) {}
@@ -0,0 +1,18 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.todo-sync")
+@Validated
+public record TodoSyncProperties(
+        @NotNull Duration tombstoneRetention,   // Tombstones older than this are compacted away
+        @NotNull Duration compactionInterval,   // Delay between two compaction runs
+        @Min(1) int compactionBatchSize,        // Tombstones deleted per transaction
+        @Min(1) int defaultPageSize,            // Changes per page when the client sends no limit
+        @Min(1) int maxPageSize                 // Upper bound for the client-supplied limit
+) {}
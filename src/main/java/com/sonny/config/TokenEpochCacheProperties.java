@@ -0,0 +1,15 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.token-epoch-cache")
+@Validated
+public record TokenEpochCacheProperties(
+        @NotNull Duration ttl,         // How long a loaded epoch is trusted; bounds logout-all lag on other instances
+        @Min(1) int maxEntries         // Beyond this the oldest entry is evicted
+) {}
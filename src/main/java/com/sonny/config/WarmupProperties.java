@@ -0,0 +1,16 @@
+package com.sonny.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.warmup")
+@Validated
+public record WarmupProperties(
+        boolean enabled,
+        @Min(1) int iterations,          // Upper bound on synthetic calls per hot path
+        @NotNull Duration timeBudget     // Readiness is never delayed longer than this
+) {}
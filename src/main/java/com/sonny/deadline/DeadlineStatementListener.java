@@ -0,0 +1,38 @@
+package com.sonny.deadline;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Refuses statements once the request deadline has passed and otherwise caps each statement's
+ * query timeout at the remaining budget, so Postgres cancels queries nobody is waiting for.
+ */
+public class DeadlineStatementListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!RequestDeadline.isSet()) {
+            return;
+        }
+        RequestDeadline.check();
+        int remaining = RequestDeadline.remainingSeconds();
+        Statement statement = execInfo.getStatement();
+        try {
+            int current = statement.getQueryTimeout();
+            if (current == 0 || remaining < current) {
+                statement.setQueryTimeout(remaining);
+            }
+        } catch (SQLException e) {
+            // A closed statement fails on execute anyway
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.sonny.deadline;
+
+import com.sonny.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The current request's deadline, bound to the handling thread by {@link RequestDeadlineFilter}.
+ * Work started on other threads (audit writer, create coalescer, schedulers) runs without one.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    static void start(Duration timeout) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    /**
+     * Nanoseconds left, {@code Long.MAX_VALUE} without a deadline, zero or negative once expired.
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Remaining budget in whole seconds, rounded up and at least 1, as JDBC and transaction timeouts
+     * want it; 0 without a deadline. Pair with {@link #check()} to fail fast once it has passed.
+     */
+    public static int remainingSeconds() {
+        long remaining = remainingNanos();
+        if (remaining == Long.MAX_VALUE) {
+            return 0;
+        }
+        return (int) Math.clamp(Math.ceilDiv(remaining, TimeUnit.SECONDS.toNanos(1)), 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs {@code work} with no deadline on this thread and restores it afterwards. For after-commit
+     * listeners: the caller's writes are already committed, so follow-up reads that keep derived state in
+     * sync must complete rather than be cut short by a budget the commit itself used up.
+     */
+    public static void runWithout(Runnable work) {
+        callWithout(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public static <T> T callWithout(Supplier<T> work) {
+        Long deadline = DEADLINE_NANOS.get();
+        DEADLINE_NANOS.remove();
+        try {
+            return work.get();
+        } finally {
+            if (deadline != null) {
+                DEADLINE_NANOS.set(deadline);
+            }
+        }
+    }
+
+    public static void check() {
+        if (remainingNanos() <= 0) {
+            throw new DeadlineExceededException();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sonny.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts the request's deadline clock. The budget is the client's header value (milliseconds, capped at
+ * {@code maxTimeout}), else the first matching per-endpoint default, else {@code defaultTimeout}.
+ */
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final String header;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Map<PathPattern, Duration> endpointTimeouts = new LinkedHashMap<>();
+
+    public RequestDeadlineFilter(String header, Duration defaultTimeout, Duration maxTimeout,
+                                 Map<String, Duration> endpointTimeouts) {
+        this.header = header;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        endpointTimeouts.forEach((pattern, timeout) ->
+                this.endpointTimeouts.put(PathPatternParser.defaultInstance.parse(pattern), timeout));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline.start(timeout(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    Duration timeout(HttpServletRequest request) {
+        String requested = request.getHeader(header);
+        if (requested != null) {
+            try {
+                long millis = Long.parseLong(requested.strip());
+                if (millis > 0) {
+                    Duration timeout = Duration.ofMillis(millis);
+                    return timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+                }
+            } catch (NumberFormatException ignored) {
+                // Fall back to the endpoint default
+            }
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Map.Entry<PathPattern, Duration> entry : endpointTimeouts.entrySet()) {
+            if (entry.getKey().matches(path)) {
+                return entry.getValue();
+            }
+        }
+        return defaultTimeout;
+    }
+}
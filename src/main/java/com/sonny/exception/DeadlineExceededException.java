@@ -0,0 +1,8 @@
+package com.sonny.exception;
+
+public class DeadlineExceededException extends DomainException {
+
+    public DeadlineExceededException() {
+        super("Request deadline exceeded");
+    }
+}
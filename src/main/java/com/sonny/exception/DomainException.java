@@ -0,0 +1,13 @@
+package com.sonny.exception;
+
+/**
+ * Base for expected, client-caused failures that {@link GlobalExceptionHandler} maps to a status code.
+ * They never need a stack trace, so none is captured: filling it in walks the whole request stack
+ * and dominates the cost of a 404 or 400.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
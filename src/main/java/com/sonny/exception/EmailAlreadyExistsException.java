@@ -1,6 +1,6 @@
 package com.sonny.exception;
 
-public class EmailAlreadyExistsException extends RuntimeException {
+public class EmailAlreadyExistsException extends DomainException {
 
     public EmailAlreadyExistsException(String email) {
         super("Email already registered: " + email);
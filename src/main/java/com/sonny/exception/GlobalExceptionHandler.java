@@ -1,41 +1,54 @@
 package com.sonny.exception;
 
+import com.sonny.logging.LogRateLimiter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // Client errors are driven by callers, not by us: a burst must not flood the log.
+    // One limiter per call site, so each suppressed count only covers its own message
+    private static final LogRateLimiter EMAIL_CONFLICT_LOG_LIMIT = new LogRateLimiter(20, Duration.ofSeconds(1));
+    private static final LogRateLimiter INVALID_REFRESH_TOKEN_LOG_LIMIT = new LogRateLimiter(20, Duration.ofSeconds(1));
+    private static final LogRateLimiter MALFORMED_JSON_LOG_LIMIT = new LogRateLimiter(20, Duration.ofSeconds(1));
+
     public record ErrorResponse(String code, String message) {}
 
     @ExceptionHandler(TodoNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(TodoNotFoundException ex) {
-        log.warn("Todo not found: {}", ex.getMessage());
+        log.debug("Todo not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ErrorResponse("NOT_FOUND", ex.getMessage()));
     }
 
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleEmailConflict(EmailAlreadyExistsException ex) {
-        log.warn("Registration conflict: {}", ex.getMessage());
+        if (log.isWarnEnabled() && EMAIL_CONFLICT_LOG_LIMIT.tryAcquire()) {
+            log.warn("Registration conflict: {} ({} similar suppressed)", ex.getMessage(),
+                    EMAIL_CONFLICT_LOG_LIMIT.drainSuppressed());
+        }
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(new ErrorResponse("EMAIL_ALREADY_EXISTS", ex.getMessage()));
     }
 
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFound(UserNotFoundException ex) {
-        log.warn("User not found: {}", ex.getMessage());
+        log.debug("User not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(new ErrorResponse("USER_NOT_FOUND", ex.getMessage()));
     }
@@ -48,11 +61,39 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidRefreshTokenException.class)
     public ResponseEntity<ErrorResponse> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
-        log.warn("Invalid refresh token: {}", ex.getMessage());
+        if (log.isWarnEnabled() && INVALID_REFRESH_TOKEN_LOG_LIMIT.tryAcquire()) {
+            log.warn("Invalid refresh token: {} ({} similar suppressed)", ex.getMessage(),
+                    INVALID_REFRESH_TOKEN_LOG_LIMIT.drainSuppressed());
+        }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ErrorResponse("INVALID_REFRESH_TOKEN", ex.getMessage()));
     }
 
+    @ExceptionHandler(InvalidSyncTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSyncToken(InvalidSyncTokenException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("INVALID_SYNC_TOKEN", ex.getMessage()));
+    }
+
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleSyncTokenExpired(SyncTokenExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(new ErrorResponse("SYNC_TOKEN_EXPIRED", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImport(InvalidImportException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("INVALID_IMPORT", ex.getMessage()));
+    }
+
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(RuntimeException ex) {
+        log.debug("Request deadline exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ErrorResponse("DEADLINE_EXCEEDED", "Request deadline exceeded"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         List<String> errors = ex.getBindingResult().getFieldErrors().stream()
@@ -64,7 +105,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public  ResponseEntity<ErrorResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
-        log.warn("Malformed JSON request: {}", ex.getMessage());
+        if (log.isWarnEnabled() && MALFORMED_JSON_LOG_LIMIT.tryAcquire()) {
+            log.warn("Malformed JSON request: {} ({} similar suppressed)", ex.getMessage(),
+                    MALFORMED_JSON_LOG_LIMIT.drainSuppressed());
+        }
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponse("MALFORMED_JSON", "Request body is not valid JSON"));
     }
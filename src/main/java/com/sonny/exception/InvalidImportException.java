@@ -0,0 +1,8 @@
+package com.sonny.exception;
+
+public class InvalidImportException extends DomainException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
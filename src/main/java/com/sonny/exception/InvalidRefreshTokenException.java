@@ -1,6 +1,6 @@
 package com.sonny.exception;
 
-public class InvalidRefreshTokenException extends RuntimeException {
+public class InvalidRefreshTokenException extends DomainException {
 
     public InvalidRefreshTokenException(String message) {
         super(message);
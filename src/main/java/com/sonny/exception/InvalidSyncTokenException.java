@@ -0,0 +1,8 @@
+package com.sonny.exception;
+
+public class InvalidSyncTokenException extends DomainException {
+
+    public InvalidSyncTokenException(String token) {
+        super("Malformed sync token: " + token);
+    }
+}
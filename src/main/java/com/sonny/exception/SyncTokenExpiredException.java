@@ -0,0 +1,8 @@
+package com.sonny.exception;
+
+public class SyncTokenExpiredException extends DomainException {
+
+    public SyncTokenExpiredException() {
+        super("Sync token predates tombstone compaction, a full resync is required");
+    }
+}
@@ -1,6 +1,6 @@
 package com.sonny.exception;
 
-public class TodoNotFoundException extends RuntimeException {
+public class TodoNotFoundException extends DomainException {
 
     public TodoNotFoundException(Long id) {
         super("Todo not found with id: " + id);
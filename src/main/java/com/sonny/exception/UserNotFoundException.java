@@ -1,8 +1,8 @@
 package com.sonny.exception;
 
-public class UserNotFoundException extends RuntimeException {
-    public UserNotFoundException(String email) {
+public class UserNotFoundException extends DomainException {
 
+    public UserNotFoundException(String email) {
         super("User not found with email: " + email);
     }
 }
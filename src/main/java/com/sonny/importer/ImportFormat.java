@@ -0,0 +1,21 @@
+package com.sonny.importer;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    /** One JSON object per line with the {@code TodoRequest} fields. */
+    NDJSON,
+    /** RFC 4180 CSV with a header row naming title, description and completed. */
+    CSV;
+
+    public static ImportFormat fromMediaType(String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,17 @@
+package com.sonny.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code errors} holds at most app.todo-import.max-reported-errors entries;
+ * {@code rejected} counts all of them.
+ */
+public record ImportReport(
+        long read,
+        long imported,
+        long rejected,
+        List<RowError> errors,
+        long durationMillis
+) {
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,75 @@
+package com.sonny.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One-shot import from the command line, then exit:
+ * {@code java -jar demo.jar --spring.main.web-application-type=none --import-todos=todos.ndjson [--import-format=csv]}.
+ * The format defaults to the file extension. Exits with 1 when any row was rejected. Does nothing without
+ * {@code --import-todos}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TodoImportCommand implements ApplicationRunner {
+
+    static final String FILE_OPTION = "import-todos";
+    static final String FORMAT_OPTION = "import-format";
+    private static final String CLI_ACTOR = "cli";
+    private static final int PRINTED_ERRORS = 20;
+
+    private final TodoImportService todoImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> files = args.getOptionValues(FILE_OPTION);
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        Path file = Path.of(files.getFirst());
+        List<String> formats = args.getOptionValues(FORMAT_OPTION);
+        ImportFormat format = formats == null || formats.isEmpty()
+                ? ImportFormat.fromFileName(file.getFileName().toString())
+                : ImportFormat.valueOf(formats.getFirst().toUpperCase(Locale.ROOT));
+
+        log.info("Importing {} as {}", file, format);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                CLI_ACTOR, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        ImportReport report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = todoImportService.importTodos(input, format);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        System.out.printf("Read %d rows: %d imported, %d rejected in %d ms%n",
+                report.read(), report.imported(), report.rejected(), report.durationMillis());
+        report.errors().stream().limit(PRINTED_ERRORS)
+                .forEach(error -> System.out.printf("  line %d: %s%n", error.line(), error.message()));
+        if (report.rejected() > PRINTED_ERRORS) {
+            System.out.printf("  ... %d more rejected rows%n", report.rejected() - PRINTED_ERRORS);
+        }
+        int exitCode = report.rejected() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
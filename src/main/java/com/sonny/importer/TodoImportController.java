@@ -0,0 +1,29 @@
+package com.sonny.importer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * Streams the raw request body into the importer; the body is never buffered as a whole.
+ */
+@RestController
+@RequestMapping("/api/todos")
+@RequiredArgsConstructor
+public class TodoImportController {
+
+    private final TodoImportService todoImportService;
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importTodos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return ResponseEntity.ok(todoImportService.importTodos(body, ImportFormat.fromMediaType(contentType)));
+    }
+}
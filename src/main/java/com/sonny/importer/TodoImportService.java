@@ -0,0 +1,288 @@
+package com.sonny.importer;
+
+import com.sonny.config.TodoImportProperties;
+import com.sonny.exception.InvalidImportException;
+import com.sonny.todo.TodosImportedEvent;
+import com.sonny.todo.dto.TodoRequest;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk todo import. Input is parsed and validated row by row and streamed through COPY into a
+ * transaction-scoped staging table, then moved into todos with a single INSERT ... SELECT, all in one
+ * transaction. Memory use is bounded by the COPY buffer and the capped error list, not by input size.
+ */
+@Service
+@EnableConfigurationProperties(TodoImportProperties.class)
+@Timed(value = "todo.import", histogram = true)
+@Slf4j
+public class TodoImportService {
+
+    private static final String SYSTEM_ACTOR = "system";
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE todo_import_staging
+            (
+                line        BIGINT       NOT NULL,
+                title       VARCHAR(255) NOT NULL,
+                description TEXT,
+                completed   BOOLEAN      NOT NULL
+            ) ON COMMIT DROP
+            """;
+    private static final String COPY_STAGING =
+            "COPY todo_import_staging (line, title, description, completed) FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE = """
+            WITH inserted AS (
+                INSERT INTO todos (title, description, completed, created_at, updated_at)
+                SELECT title, description, completed, :now, :now
+                FROM todo_import_staging
+                ORDER BY line
+                RETURNING change_xid
+            )
+            SELECT COUNT(*) AS imported, COALESCE(MAX(change_xid), 0) AS change_xid FROM inserted
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoImportProperties properties;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public TodoImportService(DataSource dataSource,
+                             JdbcClient jdbcClient,
+                             PlatformTransactionManager transactionManager,
+                             Validator validator,
+                             JsonMapper jsonMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             TodoImportProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.jdbcClient = jdbcClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.importedRows = Counter.builder("todo.import.rows")
+                .description("Rows processed by todo imports")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("todo.import.rows")
+                .description("Rows processed by todo imports")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    private record MergeResult(long imported, long changeXid) {}
+
+    /**
+     * Per-import progress, owned by the importing thread.
+     */
+    private final class Progress {
+        long read;
+        long staged;
+        long rejected;
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < properties.maxReportedErrors()) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        void rowRead() {
+            if (++read % properties.progressInterval() == 0) {
+                log.info("Import progress: {} rows read, {} staged, {} rejected", read, staged, rejected);
+            }
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public ImportReport importTodos(InputStream input, ImportFormat format) {
+        String actor = currentActor();
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+
+        MergeResult merged = transactionTemplate.execute(status -> {
+            jdbcClient.sql(CREATE_STAGING).update();
+            copyIntoStaging(input, format, progress);
+            MergeResult result = jdbcClient.sql(MERGE)
+                    .param("now", LocalDateTime.now())
+                    .query((rs, rowNum) -> new MergeResult(rs.getLong("imported"), rs.getLong("change_xid")))
+                    .single();
+            if (result.imported() > 0) {
+                eventPublisher.publishEvent(
+                        new TodosImportedEvent(result.changeXid(), result.imported(), actor, Instant.now()));
+            }
+            return result;
+        });
+
+        importedRows.increment(merged.imported());
+        rejectedRows.increment(progress.rejected);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Import by {} finished: {} rows read, {} imported, {} rejected in {} ms",
+                actor, progress.read, merged.imported(), progress.rejected, durationMillis);
+        return new ImportReport(progress.read, merged.imported(), progress.rejected,
+                List.copyOf(progress.errors), durationMillis);
+    }
+
+    private void copyIntoStaging(InputStream input, ImportFormat format, Progress progress) {
+        // The transaction's connection: the staging table is only visible there
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Writer copy = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING,
+                        properties.copyBufferSize()),
+                StandardCharsets.UTF_8));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            switch (format) {
+                case NDJSON -> readNdjson(reader, copy, progress);
+                case CSV -> readCsv(reader, copy, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import stream failed", e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into the staging table failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Writer copy, Progress progress) throws IOException {
+        String json;
+        long line = 0;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            progress.rowRead();
+            TodoRequest request;
+            try {
+                request = jsonMapper.readValue(json, TodoRequest.class);
+            } catch (JacksonException e) {
+                progress.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            stage(request, line, copy, progress);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Writer copy, Progress progress) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(name -> name.strip().toLowerCase(Locale.ROOT)).toList();
+        int title = columns.indexOf("title");
+        int description = columns.indexOf("description");
+        int completed = columns.indexOf("completed");
+        if (title < 0) {
+            throw new InvalidImportException("CSV header must contain a 'title' column");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            progress.rowRead();
+            long line = csv.recordLine();
+            Boolean done = completed < 0 ? Boolean.FALSE : parseBoolean(field(record, completed));
+            if (done == null) {
+                progress.reject(line, "completed: must be true or false");
+                continue;
+            }
+            String text = field(record, description);
+            stage(new TodoRequest(field(record, title), text == null || text.isEmpty() ? null : text, done),
+                    line, copy, progress);
+        }
+    }
+
+    private void stage(TodoRequest request, long line, Writer copy, Progress progress) throws IOException {
+        Set<ConstraintViolation<TodoRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.reject(line, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return;
+        }
+        copy.write(Long.toString(line));
+        copy.write(',');
+        writeQuoted(copy, request.title());
+        copy.write(',');
+        if (request.description() != null) {
+            writeQuoted(copy, request.description());   // An unquoted empty field would be NULL
+        }
+        copy.write(request.completed() ? ",t\n" : ",f\n");
+        progress.staged++;
+    }
+
+    private static void writeQuoted(Writer copy, String value) throws IOException {
+        copy.write('"');
+        copy.write(value.replace("\"", "\"\""));
+        copy.write('"');
+    }
+
+    private static String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null || value.isBlank()) {
+            return Boolean.FALSE;
+        }
+        return switch (value.strip().toLowerCase(Locale.ROOT)) {
+            case "true", "t", "1", "yes" -> Boolean.TRUE;
+            case "false", "f", "0", "no" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+    }
+}
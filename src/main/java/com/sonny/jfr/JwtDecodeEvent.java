@@ -0,0 +1,18 @@
+package com.sonny.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sonny.JwtDecode")
+@Label("JWT Decode")
+@Description("Parsing, signature and claim validation of a bearer token")
+@Category({"Todo App", "Auth"})
+@StackTrace(false)
+public class JwtDecodeEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,18 @@
+package com.sonny.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sonny.PasswordVerify")
+@Label("Password Verify")
+@Description("BCrypt verification of a login password")
+@Category({"Todo App", "Auth"})
+@StackTrace(false)
+public class PasswordVerifyEvent extends jdk.jfr.Event {
+
+    @Label("Matched")
+    public boolean matched;
+}
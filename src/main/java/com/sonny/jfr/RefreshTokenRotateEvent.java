@@ -0,0 +1,22 @@
+package com.sonny.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sonny.RefreshTokenRotate")
+@Label("Refresh Token Rotate")
+@Description("Single-use refresh token exchange")
+@Category({"Todo App", "Auth"})
+@StackTrace(false)
+public class RefreshTokenRotateEvent extends jdk.jfr.Event {
+
+    public static final String ROTATED = "ROTATED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String EXPIRED = "EXPIRED";
+
+    @Label("Outcome")
+    public String outcome;
+}
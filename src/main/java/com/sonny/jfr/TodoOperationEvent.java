@@ -0,0 +1,30 @@
+package com.sonny.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sonny.TodoOperation")
+@Label("Todo Operation")
+@Description("One TodoService call")
+@Category({"Todo App", "Todos"})
+@StackTrace(false)
+public class TodoOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Todo Id")
+    @Description("Target id, 0 for operations that are not about a single todo")
+    public long todoId;
+
+    @Label("Rows")
+    @Description("Todos returned or written")
+    public int rows;
+
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception thrown")
+    public String outcome;
+}
@@ -0,0 +1,46 @@
+package com.sonny.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Collection;
+
+/**
+ * Wraps every public {@code TodoService} method in a {@link TodoOperationEvent}. When the event is
+ * disabled, the cost is an allocation and a flag check.
+ */
+@Aspect
+public class TodoServiceFlightRecorderAspect {
+
+    private static final String OK = "OK";
+
+    @Around("execution(public * com.sonny.todo.TodoService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        TodoOperationEvent event = new TodoOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object[] args = joinPoint.getArgs();
+        event.operation = joinPoint.getSignature().getName();
+        if (args.length > 0 && args[0] instanceof Long id) {
+            event.todoId = id;
+        }
+        try {
+            Object result = joinPoint.proceed();
+            event.rows = switch (result) {
+                case null -> 0;
+                case Collection<?> collection -> collection.size();
+                default -> 1;
+            };
+            event.outcome = OK;
+            return result;
+        } catch (Throwable e) {
+            event.outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+}
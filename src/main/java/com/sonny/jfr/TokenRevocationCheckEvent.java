@@ -0,0 +1,18 @@
+package com.sonny.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sonny.TokenRevocationCheck")
+@Label("Token Revocation Check")
+@Description("Blacklist and token-epoch lookup for a decoded JWT")
+@Category({"Todo App", "Auth"})
+@StackTrace(false)
+public class TokenRevocationCheckEvent extends jdk.jfr.Event {
+
+    @Label("Revoked")
+    public boolean revoked;
+}
@@ -0,0 +1,115 @@
+package com.sonny.limit;
+
+import com.sonny.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient concurrency limit: the limit follows the ratio between a long-term latency baseline and the
+ * latency of the last sample window. While latency stays at the baseline the limit grows by roughly its
+ * square root per window; when requests start queueing (in Postgres or the pool) latency rises and the limit
+ * shrinks proportionally, so excess load is shed instead of queued.
+ * <p>
+ * Samples are accumulated lock-free; the thread that closes a window computes the new limit.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Fewer samples than this make the window average too noisy to act on
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final ConcurrencyLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowStart;
+
+    private volatile double limit;
+    private volatile int maxInFlightInWindow;
+    // Only written by the thread that won the window CAS
+    private double baselineRttNanos;
+
+    public AdaptiveConcurrencyLimit(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.limit = properties.initialLimit();
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserves an in-flight slot, or returns false when the limit is reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > maxInFlightInWindow) {
+                    maxInFlightInWindow = current + 1;
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot and feeds the request latency into the current window.
+     */
+    public void release(long startNanos) {
+        long now = nanoClock.getAsLong();
+        inFlight.decrementAndGet();
+        windowRttNanos.add(now - startNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        if (now - start >= properties.sampleWindow().toNanos()
+                && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+                && windowStart.compareAndSet(start, now)) {
+            closeWindow();
+        }
+    }
+
+    private void closeWindow() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttNanos.sumThenReset();
+        int peakInFlight = maxInFlightInWindow;
+        maxInFlightInWindow = inFlight.get();
+        if (samples == 0) {
+            return;
+        }
+        double shortRtt = (double) rttSum / samples;
+
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = shortRtt;
+        } else {
+            baselineRttNanos += (shortRtt - baselineRttNanos) / properties.baselineWindows();
+            // Latency dropped well below the baseline (e.g. after an incident): let the baseline catch up faster
+            if (baselineRttNanos / shortRtt > 2) {
+                baselineRttNanos *= 0.95;
+            }
+        }
+
+        double current = limit;
+        // Demand never reached half the limit: latency says nothing about a higher limit, keep it
+        if (peakInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.rttTolerance() * baselineRttNanos / shortRtt));
+        double estimate = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - properties.smoothing()) + estimate * properties.smoothing();
+        limit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), smoothed));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
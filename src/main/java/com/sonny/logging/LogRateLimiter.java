@@ -0,0 +1,58 @@
+package com.sonny.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code permits} statements of one call site through per {@code interval}, across threads,
+ * and counts the rest so the next permitted statement can say how many were dropped.
+ * Approximate at window boundaries, which is fine for logging; never blocks.
+ * <pre>{@code
+ * if (log.isWarnEnabled() && LIMIT.tryAcquire()) {
+ *     log.warn("... ({} similar suppressed)", ..., LIMIT.drainSuppressed());
+ * }
+ * }</pre>
+ */
+public final class LogRateLimiter {
+
+    private final int permits;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(int permits, Duration interval) {
+        this(permits, interval, System::nanoTime);
+    }
+
+    LogRateLimiter(int permits, Duration interval, LongSupplier nanoClock) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permits) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * Statements dropped since the previous call.
+     */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,44 @@
+package com.sonny.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens or closes a phase as the request passes a point in the servlet filter chain.
+ * A pair of these registered just before and just after another filter times that filter.
+ */
+public class PhaseBoundaryFilter extends OncePerRequestFilter {
+
+    private final String phase;
+    private final boolean opens;
+
+    public PhaseBoundaryFilter(String phase, boolean opens) {
+        this.phase = phase;
+        this.opens = opens;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (opens) {
+            RequestProfiler.begin(phase);
+        } else {
+            RequestProfiler.end(phase);
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Distinct per phase and direction, so the opening and closing instance of a pair never mistake
+     * each other's marker for their own when the filter name is not available.
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return PhaseBoundaryFilter.class.getName() + "." + phase + (opens ? ".OPENED" : ".CLOSED");
+    }
+}
@@ -0,0 +1,94 @@
+package com.sonny.profiling;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Phase timestamps of the request running on the current thread. One instance per thread is reused
+ * across requests, so recording allocates nothing; a {@link SlowRequest} copy is made only for slow requests.
+ */
+final class RequestProfile {
+
+    private static final long OPEN = Long.MIN_VALUE;
+    private static final int MAX_DETAIL_LENGTH = 200;
+
+    private final String[] names;
+    private final String[] details;
+    private final long[] starts;
+    private final long[] ends;
+    private int count;
+    private int dropped;
+    private long startNanos;
+
+    RequestProfile(int maxPhases) {
+        this.names = new String[maxPhases];
+        this.details = new String[maxPhases];
+        this.starts = new long[maxPhases];
+        this.ends = new long[maxPhases];
+    }
+
+    void reset(long now) {
+        // Drop references so the previous request's SQL strings can be collected
+        Arrays.fill(details, 0, count, null);
+        count = 0;
+        dropped = 0;
+        startNanos = now;
+    }
+
+    int begin(String name, String detail, long now) {
+        if (count == names.length) {
+            dropped++;
+            return -1;
+        }
+        names[count] = name;
+        details[count] = detail;
+        starts[count] = now;
+        ends[count] = OPEN;
+        return count++;
+    }
+
+    void end(int slot, long now) {
+        if (slot >= 0 && slot < count) {
+            ends[slot] = now;
+        }
+    }
+
+    /**
+     * Closes the most recent open phase with this name.
+     */
+    void end(String name, long now) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (ends[i] == OPEN && names[i].equals(name)) {
+                ends[i] = now;
+                return;
+            }
+        }
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    SlowRequest snapshot(String method, String uri, int status, long endNanos) {
+        List<SlowRequest.Phase> phases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Phases still open (e.g. a request rejected inside the security chain) run until the request ended
+            long end = ends[i] == OPEN ? endNanos : ends[i];
+            String detail = details[i];
+            if (detail != null && detail.length() > MAX_DETAIL_LENGTH) {
+                detail = detail.substring(0, MAX_DETAIL_LENGTH) + "...";
+            }
+            phases.add(new SlowRequest.Phase(names[i], detail,
+                    millis(starts[i] - startNanos), millis(end - starts[i])));
+        }
+        long totalNanos = endNanos - startNanos;
+        return new SlowRequest(method, uri, status, Instant.now().minusNanos(totalNanos),
+                millis(totalNanos), phases, dropped);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.sonny.profiling;
+
+import java.util.function.Supplier;
+
+/**
+ * Static entry point for the instrumentation hooks. Every call is a thread-local lookup and
+ * a no-op when the current thread is not serving a profiled request (schedulers, the audit writer,
+ * or a disabled profiler).
+ */
+public final class RequestProfiler {
+
+    public static final String SECURITY = "security";
+    public static final String JWT_DECODE = "jwt.decode";
+    public static final String JWT_REVOCATION_CHECK = "jwt.revocation_check";
+    public static final String TX_BEGIN = "tx.begin";
+    public static final String TX_COMMIT = "tx.commit";
+    public static final String SQL = "sql";
+    public static final String SERIALIZATION = "serialization";
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private RequestProfiler() {
+    }
+
+    static void attach(RequestProfile profile) {
+        CURRENT.set(profile);
+    }
+
+    static void detach() {
+        CURRENT.remove();
+    }
+
+    public static int begin(String phase) {
+        return begin(phase, null);
+    }
+
+    public static int begin(String phase, String detail) {
+        RequestProfile profile = CURRENT.get();
+        return profile == null ? -1 : profile.begin(phase, detail, System.nanoTime());
+    }
+
+    public static void end(int slot) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.end(slot, System.nanoTime());
+        }
+    }
+
+    public static void end(String phase) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.end(phase, System.nanoTime());
+        }
+    }
+
+    public static <T> T phase(String phase, Supplier<T> work) {
+        int slot = begin(phase);
+        try {
+            return work.get();
+        } finally {
+            end(slot);
+        }
+    }
+}
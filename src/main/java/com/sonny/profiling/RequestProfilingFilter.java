@@ -0,0 +1,51 @@
+package com.sonny.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: opens the thread's {@link RequestProfile} and, once the response is complete,
+ * keeps a copy in the {@link SlowRequestBuffer} if the request exceeded the threshold.
+ */
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private final ThreadLocal<RequestProfile> profiles;
+    private final SlowRequestBuffer buffer;
+    private final long thresholdNanos;
+    private final Counter sampled;
+
+    public RequestProfilingFilter(SlowRequestBuffer buffer, long thresholdNanos, int maxPhases,
+                                  MeterRegistry meterRegistry) {
+        this.profiles = ThreadLocal.withInitial(() -> new RequestProfile(maxPhases));
+        this.buffer = buffer;
+        this.thresholdNanos = thresholdNanos;
+        this.sampled = Counter.builder("http.slow_requests.sampled")
+                .description("Requests over the slow threshold whose phase breakdown was kept")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestProfile profile = profiles.get();
+        profile.reset(System.nanoTime());
+        RequestProfiler.attach(profile);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestProfiler.detach();
+            long end = System.nanoTime();
+            if (end - profile.startNanos() >= thresholdNanos) {
+                buffer.add(profile.snapshot(request.getMethod(), request.getRequestURI(), response.getStatus(), end));
+                sampled.increment();
+            }
+        }
+    }
+}
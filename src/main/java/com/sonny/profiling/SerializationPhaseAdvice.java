@@ -0,0 +1,42 @@
+package com.sonny.profiling;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens the {@code serialization} phase right before the message converter writes the body;
+ * {@link #INTERCEPTOR} closes it once the handler has completed.
+ */
+@ControllerAdvice
+public class SerializationPhaseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final HandlerInterceptor INTERCEPTOR = new HandlerInterceptor() {
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                    Object handler, Exception ex) {
+            RequestProfiler.end(RequestProfiler.SERIALIZATION);
+        }
+    };
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestProfiler.begin(RequestProfiler.SERIALIZATION);
+        return body;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sonny.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Phase breakdown of one request that exceeded the slow threshold.
+ * Offsets and durations are in milliseconds from the start of the request; time not covered by
+ * any phase was spent in controllers, services and the servlet container.
+ */
+public record SlowRequest(
+        String method,
+        String uri,
+        int status,
+        Instant startedAt,
+        double totalMillis,
+        List<Phase> phases,
+        int droppedPhases
+) {
+    public record Phase(String name, String detail, double offsetMillis, double durationMillis) {}
+}
@@ -0,0 +1,48 @@
+package com.sonny.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free ring of the most recent slow requests. Writers claim a slot with one
+ * {@code getAndIncrement} and overwrite whatever was there; readers take a best-effort snapshot.
+ */
+public class SlowRequestBuffer {
+
+    private final AtomicReferenceArray<SlowRequest> slots;
+    private final AtomicLong next = new AtomicLong();
+    private final int mask;
+
+    public SlowRequestBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(SlowRequest request) {
+        slots.set((int) (next.getAndIncrement() & mask), request);
+    }
+
+    /**
+     * Retained slow requests, newest first.
+     */
+    public List<SlowRequest> snapshot() {
+        long last = next.get() - 1;
+        List<SlowRequest> result = new ArrayList<>();
+        for (long i = last; i >= 0 && i > last - slots.length(); i--) {
+            SlowRequest request = slots.get((int) (i & mask));
+            if (request != null) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sonny.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowrequests} lists the retained slow requests with their phase breakdown,
+ * newest first; {@code DELETE} clears them.
+ */
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestBuffer buffer;
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return buffer.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        buffer.clear();
+    }
+}
@@ -0,0 +1,23 @@
+package com.sonny.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Records every JDBC round trip as a {@code sql} phase, with the statement text as detail.
+ */
+public class SqlPhaseListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestProfiler.begin(RequestProfiler.SQL, queryInfoList.isEmpty() ? null : queryInfoList.getFirst().getQuery());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestProfiler.end(RequestProfiler.SQL);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sonny.profiling;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Times transaction begin (connection checkout, isolation and read-only setup) and commit.
+ * Spring Boot attaches every {@link TransactionExecutionListener} bean to the transaction manager.
+ */
+public class TransactionPhaseListener implements TransactionExecutionListener {
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        RequestProfiler.begin(RequestProfiler.TX_BEGIN);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        RequestProfiler.end(RequestProfiler.TX_BEGIN);
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        RequestProfiler.begin(RequestProfiler.TX_COMMIT);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        RequestProfiler.end(RequestProfiler.TX_COMMIT);
+    }
+}
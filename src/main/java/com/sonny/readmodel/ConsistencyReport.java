@@ -0,0 +1,70 @@
+package com.sonny.readmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of {@link TodoReadModel#verify()}. Counts are exact; id lists are samples of at most
+ * {@value #SAMPLE_SIZE} ids. Missing rows exist only in the database, extra rows only in the model.
+ */
+public record ConsistencyReport(
+        long modelRows,
+        long databaseRows,
+        long missingCount,
+        List<Long> missingIds,
+        long differentCount,
+        List<Long> differentIds,
+        long extraCount,
+        List<Long> extraIds,
+        long durationMillis
+) {
+    static final int SAMPLE_SIZE = 100;
+
+    public boolean consistent() {
+        return missingCount == 0 && differentCount == 0 && extraCount == 0;
+    }
+
+    static final class Builder {
+
+        private final long modelRows;
+        private long databaseRows;
+        private long missingCount;
+        private long differentCount;
+        private long extraCount;
+        private final List<Long> missingIds = new ArrayList<>();
+        private final List<Long> differentIds = new ArrayList<>();
+        private final List<Long> extraIds = new ArrayList<>();
+
+        Builder(long modelRows) {
+            this.modelRows = modelRows;
+        }
+
+        void databaseRow() {
+            databaseRows++;
+        }
+
+        void missing(long id) {
+            missingCount = record(missingIds, missingCount, id);
+        }
+
+        void different(long id) {
+            differentCount = record(differentIds, differentCount, id);
+        }
+
+        void extra(long id) {
+            extraCount = record(extraIds, extraCount, id);
+        }
+
+        ConsistencyReport build(long durationMillis) {
+            return new ConsistencyReport(modelRows, databaseRows, missingCount, List.copyOf(missingIds),
+                    differentCount, List.copyOf(differentIds), extraCount, List.copyOf(extraIds), durationMillis);
+        }
+
+        private static long record(List<Long> sample, long count, long id) {
+            if (sample.size() < SAMPLE_SIZE) {
+                sample.add(id);
+            }
+            return count + 1;
+        }
+    }
+}
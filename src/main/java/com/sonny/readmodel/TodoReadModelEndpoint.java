@@ -0,0 +1,34 @@
+package com.sonny.readmodel;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/readmodel} reports size and estimated heap of the todo read model;
+ * {@code POST} compares it with the database and returns the {@link ConsistencyReport}.
+ */
+@Endpoint(id = "readmodel")
+@RequiredArgsConstructor
+public class TodoReadModelEndpoint {
+
+    private final TodoReadModel readModel;
+
+    @ReadOperation
+    public Map<String, Long> stats() {
+        long size = readModel.size();
+        long bytes = readModel.estimatedBytes();
+        return Map.of(
+                "size", size,
+                "estimatedBytes", bytes,
+                "bytesPerTodo", size == 0 ? 0 : bytes / size);
+    }
+
+    @WriteOperation
+    public ConsistencyReport verify() {
+        return readModel.verify();
+    }
+}
@@ -0,0 +1,116 @@
+package com.sonny.readmodel;
+
+import com.sonny.todo.dto.TodoResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, id-sorted run of todos stored column by column: primitive ids and timestamps, string columns,
+ * and a completed bitmap with its population count as the per-segment index on {@code completed}.
+ * Writers replace whole segments; readers holding an old one keep a consistent view.
+ */
+final class TodoSegment {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    // Compressed-oops estimates: String object + byte[] header, 8-byte alignment
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final long[] ids;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final long[] completed;
+    private final int completedCount;
+    private final long estimatedBytes;
+
+    private TodoSegment(List<TodoResponse> rows) {
+        int size = rows.size();
+        ids = new long[size];
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        titles = new String[size];
+        descriptions = new String[size];
+        completed = new long[(size + 63) >>> 6];
+        int done = 0;
+        long stringBytes = 0;
+        for (int i = 0; i < size; i++) {
+            TodoResponse row = rows.get(i);
+            ids[i] = row.id();
+            createdAt[i] = toMicros(row.createdAt());
+            updatedAt[i] = toMicros(row.updatedAt());
+            titles[i] = row.title();
+            descriptions[i] = row.description();
+            if (row.completed()) {
+                completed[i >>> 6] |= 1L << i;
+                done++;
+            }
+            stringBytes += stringBytes(row.title()) + stringBytes(row.description());
+        }
+        completedCount = done;
+        estimatedBytes = 3L * (ARRAY_HEADER_BYTES + 8L * size)
+                + 2L * (ARRAY_HEADER_BYTES + 4L * size)
+                + ARRAY_HEADER_BYTES + 8L * completed.length
+                + stringBytes;
+    }
+
+    /**
+     * @param rows sorted by id, not empty
+     */
+    static TodoSegment of(List<TodoResponse> rows) {
+        return new TodoSegment(rows);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long firstId() {
+        return ids[0];
+    }
+
+    int completedCount() {
+        return completedCount;
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Row index of {@code id}, negative when absent.
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    boolean isCompleted(int row) {
+        return (completed[row >>> 6] & (1L << row)) != 0;
+    }
+
+    TodoResponse row(int row) {
+        return new TodoResponse(ids[row], titles[row], descriptions[row], isCompleted(row),
+                fromMicros(createdAt[row]), fromMicros(updatedAt[row]));
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : (STRING_OVERHEAD_BYTES + value.length() + 7) & ~7L;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,203 @@
+package com.sonny.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Up to {@code capacity} todos held column by column. The serialized form stores each column contiguously:
+ * <pre>
+ * ids[n] long | created_at[n] long | updated_at[n] long       (timestamps as epoch micros of the wall clock)
+ * completed bitmap | description-present bitmap                ((n + 7) / 8 bytes each)
+ * title lengths[n] int | title UTF-8 bytes
+ * description lengths[n] int | description UTF-8 bytes        (length 0 when absent)
+ * </pre>
+ * Like-typed values sit together, which is what makes the optional deflate pass effective.
+ */
+final class TodoColumnBlock {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final long[] ids;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    private final boolean[] completed;
+    private final String[] titles;
+    private final String[] descriptions;
+    private int size;
+
+    TodoColumnBlock(int capacity) {
+        ids = new long[capacity];
+        createdAt = new long[capacity];
+        updatedAt = new long[capacity];
+        completed = new boolean[capacity];
+        titles = new String[capacity];
+        descriptions = new String[capacity];
+    }
+
+    void add(long id, String title, String description, boolean done, LocalDateTime created, LocalDateTime updated) {
+        ids[size] = id;
+        titles[size] = title;
+        descriptions[size] = description;
+        completed[size] = done;
+        createdAt[size] = toMicros(created);
+        updatedAt[size] = toMicros(updated);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == ids.length;
+    }
+
+    void clear() {
+        Arrays.fill(titles, 0, size, null);
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    String title(int row) {
+        return titles[row];
+    }
+
+    String description(int row) {
+        return descriptions[row];
+    }
+
+    boolean completed(int row) {
+        return completed[row];
+    }
+
+    LocalDateTime createdAt(int row) {
+        return fromMicros(createdAt[row]);
+    }
+
+    LocalDateTime updatedAt(int row) {
+        return fromMicros(updatedAt[row]);
+    }
+
+    /**
+     * Serializes the block into {@code scratch}, or into a larger buffer when it does not fit.
+     * The returned buffer is flipped and ready to read.
+     */
+    ByteBuffer encode(ByteBuffer scratch) {
+        byte[][] titleBytes = new byte[size][];
+        byte[][] descriptionBytes = new byte[size][];
+        long textBytes = 0;
+        for (int i = 0; i < size; i++) {
+            titleBytes[i] = titles[i].getBytes(StandardCharsets.UTF_8);
+            descriptionBytes[i] = descriptions[i] == null ? null : descriptions[i].getBytes(StandardCharsets.UTF_8);
+            textBytes += titleBytes[i].length + (descriptionBytes[i] == null ? 0 : descriptionBytes[i].length);
+        }
+        int bitmapBytes = (size + 7) / 8;
+        long required = 3L * Long.BYTES * size + 2L * bitmapBytes + 2L * Integer.BYTES * size + textBytes;
+        ByteBuffer out = scratch.capacity() >= required ? scratch.clear() : ByteBuffer.allocate(Math.toIntExact(required));
+
+        for (int i = 0; i < size; i++) {
+            out.putLong(ids[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.putLong(createdAt[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.putLong(updatedAt[i]);
+        }
+        putBitmap(out, bitmapBytes, row -> completed[row]);
+        putBitmap(out, bitmapBytes, row -> descriptions[row] != null);
+        putStrings(out, titleBytes);
+        putStrings(out, descriptionBytes);
+        return out.flip();
+    }
+
+    /**
+     * Replaces the contents of this block with {@code rows} rows read from {@code in}.
+     */
+    void decode(ByteBuffer in, int rows) {
+        if (rows > ids.length) {
+            throw new IllegalArgumentException("Block of " + rows + " rows exceeds capacity " + ids.length);
+        }
+        clear();
+        for (int i = 0; i < rows; i++) {
+            ids[i] = in.getLong();
+        }
+        for (int i = 0; i < rows; i++) {
+            createdAt[i] = in.getLong();
+        }
+        for (int i = 0; i < rows; i++) {
+            updatedAt[i] = in.getLong();
+        }
+        int bitmapBytes = (rows + 7) / 8;
+        byte[] completedBits = new byte[bitmapBytes];
+        byte[] presentBits = new byte[bitmapBytes];
+        in.get(completedBits).get(presentBits);
+        for (int i = 0; i < rows; i++) {
+            completed[i] = isSet(completedBits, i);
+        }
+        getStrings(in, rows, titles, null);
+        getStrings(in, rows, descriptions, presentBits);
+        size = rows;
+    }
+
+    private void putBitmap(ByteBuffer out, int bitmapBytes, IntPredicate flag) {
+        for (int b = 0; b < bitmapBytes; b++) {
+            int bits = 0;
+            for (int bit = 0; bit < 8; bit++) {
+                int row = b * 8 + bit;
+                if (row < size && flag.test(row)) {
+                    bits |= 1 << bit;
+                }
+            }
+            out.put((byte) bits);
+        }
+    }
+
+    private static void putStrings(ByteBuffer out, byte[][] values) {
+        for (byte[] value : values) {
+            out.putInt(value == null ? 0 : value.length);
+        }
+        for (byte[] value : values) {
+            if (value != null) {
+                out.put(value);
+            }
+        }
+    }
+
+    private static void getStrings(ByteBuffer in, int rows, String[] target, byte[] presentBits) {
+        int[] lengths = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            lengths[i] = in.getInt();
+        }
+        for (int i = 0; i < rows; i++) {
+            if (presentBits != null && !isSet(presentBits, i)) {
+                target[i] = null;
+                continue;
+            }
+            byte[] bytes = new byte[lengths[i]];
+            in.get(bytes);
+            target[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static boolean isSet(byte[] bitmap, int row) {
+        return (bitmap[row >>> 3] & (1 << (row & 7))) != 0;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sonny.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command-line snapshot modes, each of which exits when done:
+ * <pre>
+ * java -jar demo.jar --spring.main.web-application-type=none --dump-todos=todos.snap [--snapshot-compress]
+ * java -jar demo.jar --spring.main.web-application-type=none --restore-todos=todos.snap
+ * </pre>
+ * Does nothing when neither option is given.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoSnapshotCommand implements ApplicationRunner {
+
+    static final String DUMP_OPTION = "dump-todos";
+    static final String RESTORE_OPTION = "restore-todos";
+    static final String COMPRESS_OPTION = "snapshot-compress";
+
+    private final TodoSnapshotService snapshotService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path dump = file(args, DUMP_OPTION);
+        Path restore = file(args, RESTORE_OPTION);
+        if (dump == null && restore == null) {
+            return;
+        }
+        TodoSnapshotService.Summary summary = dump != null
+                ? snapshotService.dump(dump, args.containsOption(COMPRESS_OPTION))
+                : snapshotService.restore(restore);
+        System.out.printf("%s %d todos (%d bytes) in %d ms%n",
+                dump != null ? "Dumped" : "Restored", summary.rows(), summary.bytes(), summary.durationMillis());
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private static Path file(ApplicationArguments args, String option) {
+        List<String> values = args.getOptionValues(option);
+        return values == null || values.isEmpty() ? null : Path.of(values.getFirst());
+    }
+}
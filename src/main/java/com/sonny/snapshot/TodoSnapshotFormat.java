@@ -0,0 +1,22 @@
+package com.sonny.snapshot;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants shared by {@link TodoSnapshotWriter} and {@link TodoSnapshotReader}.
+ */
+final class TodoSnapshotFormat {
+
+    static final String MAGIC = "TODOSNAP";
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+    static final int HEADER_BYTES = MAGIC.length() + 3 * Integer.BYTES;
+    static final int BLOCK_HEADER_BYTES = 3 * Integer.BYTES;
+
+    private TodoSnapshotFormat() {
+    }
+
+    static byte[] magicBytes() {
+        return MAGIC.getBytes(StandardCharsets.US_ASCII);
+    }
+}
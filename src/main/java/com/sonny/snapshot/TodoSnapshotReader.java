@@ -0,0 +1,135 @@
+package com.sonny.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads the blocks written by {@link TodoSnapshotWriter} through one memory-mapped window that slides
+ * forward over the file; block headers and payloads are slices of it, so a window is mapped once per
+ * {@link #WINDOW_BYTES} of file by default rather than once per field. A mapping is released when the next one replaces it.
+ */
+final class TodoSnapshotReader implements Closeable {
+
+    static final long WINDOW_BYTES = 64L << 20;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long windowBytes;
+    private final long size;
+    private final int blockRows;
+    private final Inflater inflater;
+    private byte[] raw = new byte[0];
+    private MappedByteBuffer window;
+    private long windowAt;
+    private long position;
+
+    TodoSnapshotReader(Path file) throws IOException {
+        this(file, WINDOW_BYTES);
+    }
+
+    TodoSnapshotReader(Path file, long windowBytes) throws IOException {
+        this.file = file;
+        this.windowBytes = windowBytes;
+        this.channel = FileChannel.open(file, READ);
+        try {
+            this.size = channel.size();
+            ByteBuffer header = take(TodoSnapshotFormat.HEADER_BYTES);
+            byte[] magic = new byte[TodoSnapshotFormat.MAGIC.length()];
+            header.get(magic);
+            if (!Arrays.equals(magic, TodoSnapshotFormat.magicBytes())) {
+                throw new StreamCorruptedException(file + " is not a todo snapshot");
+            }
+            int version = header.getInt();
+            if (version != TodoSnapshotFormat.VERSION) {
+                throw new StreamCorruptedException("Unsupported snapshot version " + version + " in " + file);
+            }
+            this.inflater = (header.getInt() & TodoSnapshotFormat.FLAG_DEFLATE) != 0 ? new Inflater() : null;
+            this.blockRows = header.getInt();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int blockRows() {
+        return blockRows;
+    }
+
+    /**
+     * Fills {@code block} with the next block of the file; false once the end marker is reached.
+     */
+    boolean next(TodoColumnBlock block) throws IOException {
+        ByteBuffer header = take(Integer.BYTES);
+        int rows = header.getInt();
+        if (rows == 0) {
+            return false;
+        }
+        header = take(2 * Integer.BYTES);
+        int payloadLength = header.getInt();
+        int rawLength = header.getInt();
+        ByteBuffer payload = take(payloadLength);
+        block.decode(inflater == null ? payload : inflate(payload, rawLength), rows);
+        return true;
+    }
+
+    private ByteBuffer inflate(ByteBuffer payload, int rawLength) throws IOException {
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        inflater.reset();
+        inflater.setInput(payload);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new StreamCorruptedException("Truncated block in " + file);
+            }
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException("Corrupt block in " + file + ": " + e.getMessage());
+        }
+        return ByteBuffer.wrap(raw, 0, rawLength);
+    }
+
+    /**
+     * Returns the next {@code length} bytes as a slice of the current window, sliding the window if they
+     * are not fully inside it, and advances past them.
+     */
+    private ByteBuffer take(int length) throws IOException {
+        if (length < 0 || position + length > size) {
+            throw new StreamCorruptedException("Unexpected end of " + file);
+        }
+        if (window == null || position + length > windowAt + window.capacity()) {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(size - position, Math.max(windowBytes, length)));
+            windowAt = position;
+        }
+        ByteBuffer slice = window.slice((int) (position - windowAt), length);
+        position += length;
+        return slice;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (inflater != null) {
+            inflater.end();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,195 @@
+package com.sonny.snapshot;
+
+import com.sonny.config.TodoSnapshotProperties;
+import com.sonny.todo.TodosImportedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dumps the todos table to a columnar snapshot file and restores it into an empty table.
+ * The dump streams a single consistent read; the restore runs in one transaction through COPY and
+ * keeps ids, then moves the id sequence past them.
+ */
+@Service
+@EnableConfigurationProperties(TodoSnapshotProperties.class)
+@Slf4j
+public class TodoSnapshotService {
+
+    private static final String ACTOR = "snapshot-restore";
+    private static final int COPY_BUFFER_BYTES = 1 << 16;
+
+    private static final String SELECT_TODOS =
+            "SELECT id, title, description, completed, created_at, updated_at FROM todos ORDER BY id";
+    private static final String COPY_TODOS =
+            "COPY todos (id, title, description, completed, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate restoreTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoSnapshotProperties properties;
+
+    public TodoSnapshotService(DataSource dataSource,
+                               JdbcClient jdbcClient,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               TodoSnapshotProperties properties) {
+        this.dataSource = dataSource;
+        this.jdbcClient = jdbcClient;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(properties.fetchSize());
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.restoreTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    public record Summary(long rows, long bytes, long durationMillis) {}
+
+    public Summary dump(Path file, boolean compress) {
+        long start = System.nanoTime();
+        TodoColumnBlock block = new TodoColumnBlock(properties.blockRows());
+        long rows;
+        try (TodoSnapshotWriter writer = new TodoSnapshotWriter(file, compress, properties.blockRows(),
+                properties.mapWindow().toBytes())) {
+            // Postgres only streams with the fetch size inside a transaction
+            snapshotTransaction.executeWithoutResult(status ->
+                    streamingJdbcTemplate.query(SELECT_TODOS, rs -> {
+                        block.add(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBoolean(4),
+                                rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime());
+                        if (block.isFull()) {
+                            writeBlock(writer, block);
+                        }
+                    }));
+            writeBlock(writer, block);
+            // Only a complete read publishes the file; on failure close() discards the partial one
+            writer.finish();
+            rows = writer.rows();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + file, e);
+        }
+        Summary summary = new Summary(rows, size(file), elapsedMillis(start));
+        log.info("Dumped {} todos to {} ({} bytes, compressed={}) in {} ms",
+                summary.rows(), file, summary.bytes(), compress, summary.durationMillis());
+        return summary;
+    }
+
+    /**
+     * Loads a snapshot into an empty todos table. Refuses to run against existing rows, whose ids would clash.
+     */
+    public Summary restore(Path file) {
+        long start = System.nanoTime();
+        long rows = restoreTransaction.execute(status -> {
+            if (jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM todos)").query(Boolean.class).single()) {
+                throw new IllegalStateException("todos is not empty; a snapshot only restores into an empty table");
+            }
+            long copied = copyFromSnapshot(file);
+            jdbcClient.sql("""
+                            SELECT setval(pg_get_serial_sequence('todos', 'id'), COALESCE(MAX(id), 1), MAX(id) IS NOT NULL)
+                            FROM todos
+                            """)
+                    .query(Long.class)
+                    .single();
+            if (copied > 0) {
+                long changeXid = jdbcClient.sql("SELECT pg_current_xact_id()::text::bigint")
+                        .query(Long.class)
+                        .single();
+                eventPublisher.publishEvent(new TodosImportedEvent(changeXid, copied, ACTOR, Instant.now()));
+            }
+            return copied;
+        });
+        Summary summary = new Summary(rows, size(file), elapsedMillis(start));
+        log.info("Restored {} todos from {} in {} ms", summary.rows(), file, summary.durationMillis());
+        return summary;
+    }
+
+    private long copyFromSnapshot(Path file) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (TodoSnapshotReader reader = new TodoSnapshotReader(file);
+             Writer copy = new BufferedWriter(new OutputStreamWriter(
+                     new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_TODOS, COPY_BUFFER_BYTES),
+                     StandardCharsets.UTF_8))) {
+            TodoColumnBlock block = new TodoColumnBlock(reader.blockRows());
+            long rows = 0;
+            while (reader.next(block)) {
+                for (int i = 0; i < block.size(); i++) {
+                    copy.write(Long.toString(block.id(i)));
+                    copy.write(',');
+                    writeQuoted(copy, block.title(i));
+                    copy.write(',');
+                    if (block.description(i) != null) {
+                        writeQuoted(copy, block.description(i));   // An unquoted empty field would be NULL
+                    }
+                    copy.write(block.completed(i) ? ",t," : ",f,");
+                    copy.write(block.createdAt(i).toString());
+                    copy.write(',');
+                    copy.write(block.updatedAt(i).toString());
+                    copy.write('\n');
+                }
+                rows += block.size();
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot restore snapshot " + file, e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into todos failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void writeBlock(TodoSnapshotWriter writer, TodoColumnBlock block) {
+        try {
+            writer.write(block);
+            block.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeQuoted(Writer copy, String value) throws IOException {
+        copy.write('"');
+        copy.write(value.replace("\"", "\"\""));
+        copy.write('"');
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
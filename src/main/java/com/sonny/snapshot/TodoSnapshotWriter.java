@@ -0,0 +1,160 @@
+package com.sonny.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Appends length-prefixed column blocks to a snapshot file through memory-mapped windows.
+ * File layout: header ({@value TodoSnapshotFormat#MAGIC}, version, flags, block rows), then per block
+ * {@code [row count][payload length][raw length][payload]}, terminated by a block with row count 0.
+ * <p>
+ * Blocks go to a temporary file next to the target. Only {@link #finish()} writes the end marker, truncates
+ * the file to its written length and moves it into place, so a dump that fails part-way leaves no snapshot
+ * behind (and an existing one untouched) instead of a well-formed partial one.
+ */
+final class TodoSnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final long window;
+    private final Deflater deflater;
+    private ByteBuffer scratch = ByteBuffer.allocate(1 << 20);
+    private byte[] compressed = new byte[0];
+    private MappedByteBuffer mapped;
+    private long mappedAt;
+    private long rows;
+    private boolean finished;
+
+    TodoSnapshotWriter(Path file, boolean compress, int blockRows, long window) throws IOException {
+        this.target = file.toAbsolutePath();
+        // Same directory as the target, so the final move is a rename
+        this.temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".partial");
+        this.window = window;
+        this.channel = open(temporary);
+        try {
+            ensure(TodoSnapshotFormat.HEADER_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        mapped.put(TodoSnapshotFormat.magicBytes())
+                .putInt(TodoSnapshotFormat.VERSION)
+                .putInt(compress ? TodoSnapshotFormat.FLAG_DEFLATE : 0)
+                .putInt(blockRows);
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+    }
+
+    void write(TodoColumnBlock block) throws IOException {
+        if (block.size() == 0) {
+            return;
+        }
+        ByteBuffer raw = block.encode(scratch);
+        if (raw != scratch) {
+            scratch = raw; // Keep the grown buffer for the next block
+        }
+        int rawLength = raw.remaining();
+        ByteBuffer payload = deflater == null ? raw : deflate(raw);
+
+        ensure(TodoSnapshotFormat.BLOCK_HEADER_BYTES + payload.remaining());
+        mapped.putInt(block.size())
+                .putInt(payload.remaining())
+                .putInt(rawLength)
+                .put(payload);
+        rows += block.size();
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private ByteBuffer deflate(ByteBuffer raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int length = 0;
+        if (compressed.length < raw.remaining() + 64) {
+            compressed = new byte[raw.remaining() + 64];
+        }
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return ByteBuffer.wrap(compressed, 0, length);
+    }
+
+    private static FileChannel open(Path temporary) throws IOException {
+        try {
+            // Mapping READ_WRITE requires the channel to be readable too
+            return FileChannel.open(temporary, READ, WRITE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes sure the current mapping has room for {@code bytes}, remapping from the write position if not.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (mapped != null && mapped.remaining() >= bytes) {
+            return;
+        }
+        long position = position();
+        if (mapped != null) {
+            mapped.force();
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(window, bytes));
+        mappedAt = position;
+    }
+
+    private long position() {
+        return mapped == null ? 0 : mappedAt + mapped.position();
+    }
+
+    /**
+     * Terminates the snapshot and moves it to the target path, replacing any previous file there.
+     */
+    void finish() throws IOException {
+        ensure(Integer.BYTES);
+        mapped.putInt(0);
+        mapped.force();
+        long length = position();
+        mapped = null;
+        channel.truncate(length);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    /**
+     * Releases the file; without a preceding {@link #finish()} the partial snapshot is discarded.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            mapped = null;
+            channel.close();
+            if (!finished) {
+                Files.deleteIfExists(temporary);
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.sonny.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Radix trie over normalised (lower-cased) titles. Chains of single-child nodes are collapsed into one
+ * edge label, children are kept in a sorted array, and each terminal node counts how many todos share
+ * the title, so the structure holds every distinct title once regardless of duplicates.
+ * <p>
+ * Not thread-safe; {@link TodoTitleIndex} guards it with a read-write lock.
+ */
+final class TitleRadixTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        String label;
+        Node[] children = NO_CHILDREN;
+        int count;          // Todos with exactly this title
+        String display;     // Original spelling of the first todo with this title
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Node root = new Node("");
+    private int distinctTitles;
+    private long nodes = 1;
+    private long labelChars;
+    private long displayBytes;
+
+    void add(String key, String display) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position));
+                insertChild(node, -index - 1, leaf);
+                nodes++;
+                labelChars += leaf.label.length();
+                node = leaf;
+                position = key.length();
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                split(child, common);
+            }
+            node = child;
+            position += common;
+        }
+        if (node.count++ == 0) {
+            node.display = display;
+            displayBytes += stringBytes(display);
+            distinctTitles++;
+        }
+    }
+
+    void remove(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+        while (position < key.length()) {
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0) {
+                return;
+            }
+            node = node.children[index];
+            if (!key.startsWith(node.label, position)) {
+                return;
+            }
+            position += node.label.length();
+            path.add(node);
+        }
+        if (node.count == 0 || --node.count > 0) {
+            return;
+        }
+        displayBytes -= stringBytes(node.display);
+        node.display = null;
+        distinctTitles--;
+        compact(path);
+    }
+
+    /**
+     * Up to {@code limit} titles starting with {@code prefix}, in lexicographic order of their normalised form.
+     */
+    List<String> search(String prefix, int limit) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            int index = childIndex(node, prefix.charAt(position));
+            if (index < 0) {
+                return List.of();
+            }
+            node = node.children[index];
+            int common = commonPrefix(node.label, prefix, position);
+            if (common < node.label.length() && position + common < prefix.length()) {
+                return List.of();
+            }
+            position += common;
+        }
+        List<String> results = new ArrayList<>(Math.min(limit, 16));
+        collect(node, results, limit);
+        return results;
+    }
+
+    int distinctTitles() {
+        return distinctTitles;
+    }
+
+    /**
+     * Rough heap footprint: object headers and fields per node, child array slots, label characters
+     * and the display strings (compact Latin-1 strings). Display strings come from JDBC rows and events,
+     * so the trie is their only holder.
+     */
+    long estimatedBytes() {
+        long nodeBytes = 40L * nodes;
+        long childSlots = 4L * (nodes - 1) + 16L * nodes;
+        long labelBytes = 40L * nodes + labelChars;
+        return nodeBytes + childSlots + labelBytes + displayBytes;
+    }
+
+    private static long stringBytes(String value) {
+        // String object plus its byte[] (header and length), padded to 8 bytes
+        return (40L + value.length() + 7) & ~7L;
+    }
+
+    private static void collect(Node node, List<String> results, int limit) {
+        if (node.count > 0) {
+            results.add(node.display);
+        }
+        for (Node child : node.children) {
+            if (results.size() >= limit) {
+                return;
+            }
+            collect(child, results, limit);
+        }
+    }
+
+    private void split(Node child, int at) {
+        // child keeps its identity (and position in the parent) as the shorter prefix node
+        Node tail = new Node(child.label.substring(at));
+        tail.children = child.children;
+        tail.count = child.count;
+        tail.display = child.display;
+        child.label = child.label.substring(0, at);
+        child.children = new Node[]{tail};
+        child.count = 0;
+        child.display = null;
+        nodes++;
+    }
+
+    private void compact(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.count > 0) {
+                return;
+            }
+            if (node.children.length == 0) {
+                removeChild(parent, node);
+                nodes--;
+                labelChars -= node.label.length();
+            } else if (node.children.length == 1) {
+                // Merge the single child back into this edge
+                Node only = node.children[0];
+                node.label = node.label + only.label;
+                node.children = only.children;
+                node.count = only.count;
+                node.display = only.display;
+                nodes--;
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static int childIndex(Node node, char first) {
+        Node[] children = node.children;
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = children[mid].label.charAt(0);
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node parent, int at, Node child) {
+        Node[] children = Arrays.copyOf(parent.children, parent.children.length + 1);
+        System.arraycopy(children, at, children, at + 1, parent.children.length - at);
+        children[at] = child;
+        parent.children = children;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        Node[] children = parent.children;
+        int index = childIndex(parent, child.label.charAt(0));
+        Node[] shrunk = new Node[children.length - 1];
+        System.arraycopy(children, 0, shrunk, 0, index);
+        System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+        parent.children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
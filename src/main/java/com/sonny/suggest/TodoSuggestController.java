@@ -0,0 +1,29 @@
+package com.sonny.suggest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "app.todo-suggest", name = "enabled", havingValue = "true")
+@RequestMapping("/api/todos")
+@RequiredArgsConstructor
+public class TodoSuggestController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TodoTitleIndex todoTitleIndex;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(todoTitleIndex.suggest(prefix, Math.clamp(limit, 1, MAX_LIMIT)));
+    }
+}
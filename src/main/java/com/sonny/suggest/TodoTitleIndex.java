@@ -0,0 +1,173 @@
+package com.sonny.suggest;
+
+import com.sonny.config.TodoSuggestProperties;
+import com.sonny.deadline.RequestDeadline;
+import com.sonny.todo.TodoChangedEvent;
+import com.sonny.todo.TodosBulkChangedEvent;
+import com.sonny.todo.TodosImportedEvent;
+import com.sonny.todo.dto.TodoResponse;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory typeahead over todo titles. Built once by streaming the todos table before the web server
+ * starts, then kept current from committed {@link TodoChangedEvent}s, {@link TodosBulkChangedEvent}s
+ * and {@link TodosImportedEvent}s.
+ * Matching is case-insensitive; results keep the original spelling.
+ * <p>
+ * Opt-in with {@code app.todo-suggest.enabled}: the build scans the whole table and the index holds every
+ * distinct title, see the {@code todo.suggest.index.memory} gauge.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.todo-suggest", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TodoSuggestProperties.class)
+@Slf4j
+public class TodoTitleIndex implements SmartInitializingSingleton {
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TitleRadixTrie trie = new TitleRadixTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TodoTitleIndex(TodoSuggestProperties properties, DataSource dataSource,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(properties.fetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Also used from after-commit listeners, where the finished transaction is still bound
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder("todo.suggest.index.titles", this, index -> index.read(index.trie::distinctTitles))
+                .description("Distinct todo titles held by the typeahead index")
+                .register(meterRegistry);
+        Gauge.builder("todo.suggest.index.memory", this, index -> index.read(index.trie::estimatedBytes))
+                .description("Estimated heap used by the typeahead index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs before the web server and schedulers start, so no change can slip between the scan and the listeners.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        // Postgres only honours the fetch size (cursor-based streaming) inside a transaction
+        readOnlyTransaction.executeWithoutResult(status ->
+                streamingJdbcTemplate.query("SELECT title FROM todos", rs -> {
+                    String title = rs.getString(1);
+                    add(title);
+                }));
+        log.info("Typeahead index built: {} distinct titles, ~{} KiB, in {} ms",
+                trie.distinctTitles(), trie.estimatedBytes() / 1024,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Timed(value = "todo.suggest", histogram = true)
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalise(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.search(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoResponse before = event.before();
+        TodoResponse after = event.after();
+        if (before != null && after != null && before.title().equals(after.title())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (before != null) {
+                trie.remove(normalise(before.title()));
+            }
+            if (after != null) {
+                addLocked(after.title());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTodosBulkChanged(TodosBulkChangedEvent event) {
+        if (event.type() != TodoChangedEvent.Type.DELETED) {
+            return; // Bulk updates never touch titles
+        }
+        lock.writeLock().lock();
+        try {
+            for (String title : event.titles()) {
+                trie.remove(normalise(title));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTodosImported(TodosImportedEvent event) {
+        // Outside the request deadline: the import is committed and a skipped read-back is never retried
+        RequestDeadline.runWithout(() -> readOnlyTransaction.executeWithoutResult(status ->
+                streamingJdbcTemplate.query("SELECT title FROM todos WHERE change_xid = ?",
+                        rs -> {
+                            add(rs.getString(1));
+                        },
+                        event.changeXid())));
+    }
+
+    private void add(String title) {
+        lock.writeLock().lock();
+        try {
+            addLocked(title);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(String title) {
+        String key = normalise(title);
+        if (!key.isEmpty()) {
+            trie.add(key, title);
+        }
+    }
+
+    private <T extends Number> T read(Supplier<T> value) {
+        lock.readLock().lock();
+        try {
+            return value.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalise(String title) {
+        return title == null ? "" : title.strip().toLowerCase(Locale.ROOT);
+    }
+}
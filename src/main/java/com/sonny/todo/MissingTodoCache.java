@@ -0,0 +1,101 @@
+package com.sonny.todo;
+
+import com.sonny.config.MissingTodoCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived memory of todo ids that were looked up and not found, so repeated misses skip the database.
+ * Committed creates and imports invalidate entries. A miss read concurrently with a create is only
+ * remembered if no invalidation happened since the lookup started ({@link #generation()}), so a cached
+ * miss never outlives the create that disproves it. Other instances' creates are not seen: behind a load
+ * balancer a todo created elsewhere can answer 404 here for up to the TTL, which is why the cache is opt-in.
+ * Entries are kept in insertion order and every one gets the same TTL, so when the cache is full the
+ * eldest entry is the one closest to expiring and is evicted in constant time.
+ * Ids below 1 are never assigned by the sequence and are not cached, which keeps the warm-up probe on the query path.
+ */
+@Component
+@EnableConfigurationProperties(MissingTodoCacheProperties.class)
+public class MissingTodoCache {
+
+    private final MissingTodoCacheProperties properties;
+    private final Map<Long, Long> expiresAtNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+
+    public MissingTodoCache(MissingTodoCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int maxEntries = properties.maxEntries();
+        this.expiresAtNanos = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = Counter.builder("todo.missing_cache.hits")
+                .description("Todo lookups answered as not found without a query")
+                .register(meterRegistry);
+        Gauge.builder("todo.missing_cache.size", expiresAtNanos, Map::size)
+                .description("Todo ids currently remembered as missing")
+                .register(meterRegistry);
+    }
+
+    public boolean isMissing(Long id) {
+        if (!properties.enabled() || id < 1) {
+            return false;
+        }
+        Long expiresAt = expiresAtNanos.get(id);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() <= 0) {
+            expiresAtNanos.remove(id, expiresAt);
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Read before querying; pass to {@link #recordMiss} when the query finds nothing.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void recordMiss(Long id, long lookupGeneration) {
+        if (!properties.enabled() || id < 1) {
+            return;
+        }
+        // Remove first so a refreshed miss moves to the young end of the insertion order
+        expiresAtNanos.remove(id);
+        expiresAtNanos.put(id, System.nanoTime() + properties.ttl().toNanos());
+        // An invalidation may have run between the query and the put: undo rather than cache a stale miss
+        if (generation.get() != lookupGeneration) {
+            expiresAtNanos.remove(id);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.CREATED) {
+            generation.incrementAndGet();
+            expiresAtNanos.remove(event.todoId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTodosImported(TodosImportedEvent event) {
+        generation.incrementAndGet();
+        expiresAtNanos.clear();
+    }
+}
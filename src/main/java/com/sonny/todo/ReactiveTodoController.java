@@ -0,0 +1,53 @@
+package com.sonny.todo;
+
+import com.sonny.exception.TodoNotFoundException;
+import com.sonny.readmodel.TodoReadModel;
+import com.sonny.todo.dto.TodoResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking replacement for the read endpoints of {@link TodoController}, enabled by the
+ * {@code reactive-reads} profile. Its explicit {@code produces} makes these mappings win over the
+ * blocking ones. Spring MVC handles the returned publishers with async servlet processing, so no
+ * servlet thread or JDBC connection is held while the query runs.
+ * Ask for {@code application/x-ndjson} to stream the list with backpressure; {@code application/json}
+ * collects it into a single array. When the in-memory read model is enabled it answers instead of the database,
+ * as it does for the blocking endpoints.
+ */
+@RestController
+@Profile("reactive-reads")
+@RequestMapping("/api/todos")
+@RequiredArgsConstructor
+public class ReactiveTodoController {
+
+    private final ReactiveTodoRepository reactiveTodoRepository;
+    private final ObjectProvider<TodoReadModel> todoReadModel;
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TodoResponse> getAll(@RequestParam(required = false) Boolean completed) {
+        TodoReadModel readModel = todoReadModel.getIfAvailable();
+        if (readModel != null) {
+            return Flux.fromIterable(readModel.findAll(completed));
+        }
+        return completed == null ? reactiveTodoRepository.findAll() : reactiveTodoRepository.findByCompleted(completed);
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<TodoResponse> getById(@PathVariable Long id) {
+        TodoReadModel readModel = todoReadModel.getIfAvailable();
+        Mono<TodoResponse> found = readModel != null
+                ? Mono.justOrEmpty(readModel.findById(id))
+                : reactiveTodoRepository.findById(id);
+        return found.switchIfEmpty(Mono.error(() -> new TodoNotFoundException(id)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.sonny.todo;
+
+import com.sonny.config.ReactiveReadProperties;
+import com.sonny.todo.dto.TodoResponse;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC queries behind the reactive todo endpoints. Results are fetched in
+ * {@code fetch-size} chunks as the subscriber requests them, so a slow client slows the query
+ * down instead of buffering the whole table.
+ */
+@Repository
+@Profile("reactive-reads")
+@RequiredArgsConstructor
+class ReactiveTodoRepository {
+
+    private static final String COLUMNS = "id, title, description, completed, created_at, updated_at";
+
+    private final DatabaseClient reactiveDatabaseClient;
+    private final ReactiveReadProperties properties;
+
+    Flux<TodoResponse> findAll() {
+        return reactiveDatabaseClient.sql("SELECT " + COLUMNS + " FROM todos ORDER BY id")
+                .filter(statement -> statement.fetchSize(properties.fetchSize()))
+                .map(ReactiveTodoRepository::toResponse)
+                .all();
+    }
+
+    Flux<TodoResponse> findByCompleted(boolean completed) {
+        return reactiveDatabaseClient.sql("SELECT " + COLUMNS + " FROM todos WHERE completed = :completed ORDER BY id")
+                .bind("completed", completed)
+                .filter(statement -> statement.fetchSize(properties.fetchSize()))
+                .map(ReactiveTodoRepository::toResponse)
+                .all();
+    }
+
+    Mono<TodoResponse> findById(Long id) {
+        return reactiveDatabaseClient.sql("SELECT " + COLUMNS + " FROM todos WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTodoRepository::toResponse)
+                .one();
+    }
+
+    private static TodoResponse toResponse(Readable row) {
+        return new TodoResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("completed", Boolean.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.sonny.todo;
+
+import com.sonny.exception.InvalidSyncTokenException;
+
+/**
+ * Delta-sync cursor, serialized as {@code xid.id.floor}.
+ * {@code (xid, id)} is the last change handed out; {@code floor} is the change horizon the client's
+ * state is complete from, so tombstones below it can be skipped (and may be compacted) safely.
+ */
+record SyncToken(long xid, long id, long floor) {
+
+    static SyncToken parse(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new InvalidSyncTokenException(token);
+        }
+        try {
+            SyncToken parsed = new SyncToken(
+                    Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            if (parsed.xid < 0 || parsed.id < 0 || parsed.floor < 0) {
+                throw new InvalidSyncTokenException(token);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new InvalidSyncTokenException(token);
+        }
+    }
+
+    /**
+     * Lowest change token among the tombstones this client may still need.
+     */
+    long neededFrom() {
+        return Math.max(xid, floor);
+    }
+
+    @Override
+    public String toString() {
+        return xid + "." + id + "." + floor;
+    }
+}
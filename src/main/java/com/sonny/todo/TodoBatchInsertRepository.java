@@ -0,0 +1,45 @@
+package com.sonny.todo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-row todo inserts for the create coalescer. Ids are taken from the sequence up front so each
+ * row is matched to its caller without relying on RETURNING order.
+ */
+@Repository
+@RequiredArgsConstructor
+class TodoBatchInsertRepository {
+
+    private static final String INSERT = "INSERT INTO todos (id, title, description, completed, created_at, updated_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcClient jdbcClient;
+
+    List<Long> allocateIds(int count) {
+        return jdbcClient.sql("SELECT nextval(pg_get_serial_sequence('todos', 'id')) FROM generate_series(1, ?)")
+                .param(count)
+                .query(Long.class)
+                .list();
+    }
+
+    void insertAll(List<Todo> todos) {
+        StringBuilder sql = new StringBuilder(INSERT.length() + todos.size() * (ROW.length() + 2)).append(INSERT);
+        List<Object> params = new ArrayList<>(todos.size() * 6);
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+            params.add(todo.getId());
+            params.add(todo.getTitle());
+            params.add(todo.getDescription());
+            params.add(todo.isCompleted());
+            params.add(todo.getCreatedAt());
+            params.add(todo.getUpdatedAt());
+        }
+        jdbcClient.sql(sql.toString()).params(params).update();
+    }
+}
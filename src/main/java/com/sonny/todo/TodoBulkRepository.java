@@ -0,0 +1,71 @@
+package com.sonny.todo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based chunk statements for bulk operations. Each call walks the primary key after {@code afterId}
+ * and returns the rows it touched, so the caller can resume from the highest id.
+ */
+@Repository
+@RequiredArgsConstructor
+class TodoBulkRepository {
+
+    record Touched(long id, String title) {}
+
+    private final JdbcClient jdbcClient;
+
+    List<Touched> completeChunk(long afterId, LocalDateTime updatedBefore, int chunkSize) {
+        return jdbcClient.sql("""
+                        UPDATE todos SET completed = TRUE, updated_at = :now
+                        WHERE id IN (%s)
+                        RETURNING id, title
+                        """.formatted(selectChunk("completed = FALSE", updatedBefore)))
+                .param("now", LocalDateTime.now())
+                .params(chunkParams(afterId, updatedBefore, chunkSize))
+                .query((rs, rowNum) -> new Touched(rs.getLong("id"), rs.getString("title")))
+                .list();
+    }
+
+    /**
+     * Deletes completed todos and records their tombstones for delta sync in the same statement.
+     */
+    List<Touched> deleteCompletedChunk(long afterId, LocalDateTime updatedBefore, int chunkSize) {
+        return jdbcClient.sql("""
+                        WITH deleted AS (
+                            DELETE FROM todos WHERE id IN (%s)
+                            RETURNING id, title
+                        ), tombstones AS (
+                            INSERT INTO todo_tombstones (todo_id)
+                            SELECT id FROM deleted
+                            ON CONFLICT (todo_id) DO NOTHING
+                        )
+                        SELECT id, title FROM deleted
+                        """.formatted(selectChunk("completed = TRUE", updatedBefore)))
+                .params(chunkParams(afterId, updatedBefore, chunkSize))
+                .query((rs, rowNum) -> new Touched(rs.getLong("id"), rs.getString("title")))
+                .list();
+    }
+
+    private static String selectChunk(String condition, LocalDateTime updatedBefore) {
+        return "SELECT id FROM todos WHERE id > :afterId AND " + condition
+                + (updatedBefore != null ? " AND updated_at < :updatedBefore" : "")
+                + " ORDER BY id LIMIT :chunkSize";
+    }
+
+    private static Map<String, Object> chunkParams(long afterId, LocalDateTime updatedBefore, int chunkSize) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("afterId", afterId);
+        params.put("chunkSize", chunkSize);
+        if (updatedBefore != null) {
+            params.put("updatedBefore", updatedBefore);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,100 @@
+package com.sonny.todo;
+
+import com.sonny.config.TodoBulkProperties;
+import com.sonny.todo.dto.BulkOperationResponse;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin bulk operations by filter. Each chunk is one set-based statement in its own transaction,
+ * so row locks are held briefly and a failure only rolls back the chunk in flight; committed chunks
+ * are reported through {@link TodosBulkChangedEvent}.
+ */
+@Service
+@EnableConfigurationProperties(TodoBulkProperties.class)
+@Timed(value = "todo.bulk", histogram = true)
+@Slf4j
+public class TodoBulkService {
+
+    private interface ChunkStatement {
+        List<TodoBulkRepository.Touched> execute(long afterId, LocalDateTime updatedBefore, int chunkSize);
+    }
+
+    private static final String SYSTEM_ACTOR = "system";
+
+    private final TodoBulkRepository todoBulkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoBulkProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public TodoBulkService(TodoBulkRepository todoBulkRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           TodoBulkProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.todoBulkRepository = todoBulkRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkOperationResponse completeAll(LocalDateTime updatedBefore) {
+        return run(TodoChangedEvent.Type.UPDATED, todoBulkRepository::completeChunk, updatedBefore);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkOperationResponse deleteCompleted(LocalDateTime updatedBefore) {
+        return run(TodoChangedEvent.Type.DELETED, todoBulkRepository::deleteCompletedChunk, updatedBefore);
+    }
+
+    private BulkOperationResponse run(TodoChangedEvent.Type type, ChunkStatement statement,
+                                      LocalDateTime updatedBefore) {
+        String actor = currentActor();
+        int chunkSize = properties.chunkSize();
+        long afterId = 0;
+        long affected = 0;
+        List<TodoBulkRepository.Touched> touched;
+
+        do {
+            long from = afterId;
+            touched = transactionTemplate.execute(status -> {
+                List<TodoBulkRepository.Touched> rows = statement.execute(from, updatedBefore, chunkSize);
+                if (!rows.isEmpty()) {
+                    List<Long> ids = new ArrayList<>(rows.size());
+                    List<String> titles = new ArrayList<>(rows.size());
+                    for (TodoBulkRepository.Touched row : rows) {
+                        ids.add(row.id());
+                        titles.add(row.title());
+                    }
+                    eventPublisher.publishEvent(new TodosBulkChangedEvent(type, ids, titles, actor, Instant.now()));
+                }
+                return rows;
+            });
+            for (TodoBulkRepository.Touched row : touched) {
+                afterId = Math.max(afterId, row.id());
+            }
+            affected += touched.size();
+        } while (touched.size() == chunkSize);
+
+        log.info("Bulk {} by {}: {} todos", type, actor, affected);
+        return new BulkOperationResponse(affected);
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+    }
+}
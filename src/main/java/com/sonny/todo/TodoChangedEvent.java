@@ -0,0 +1,25 @@
+package com.sonny.todo;
+
+import com.sonny.todo.dto.TodoResponse;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link TodoService} inside the write transaction; listeners use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ * {@code before} is null for creations, {@code after} is null for deletions.
+ */
+public record TodoChangedEvent(
+        Type type,
+        Long todoId,
+        TodoResponse before,
+        TodoResponse after,
+        String actor,
+        Instant occurredAt
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -1,14 +1,21 @@
 package com.sonny.todo;
 
+import com.sonny.exception.TodoNotFoundException;
+import com.sonny.readmodel.TodoReadModel;
+import com.sonny.todo.dto.BulkOperationResponse;
+import com.sonny.todo.dto.TodoChangesResponse;
 import com.sonny.todo.dto.TodoRequest;
 import com.sonny.todo.dto.TodoResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,20 +24,40 @@ import java.util.List;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoSyncService todoSyncService;
+    private final TodoBulkService todoBulkService;
+    private final ObjectProvider<TodoCreateCoalescer> todoCreateCoalescer;
+    private final ObjectProvider<TodoReadModel> todoReadModel;
 
     @GetMapping
-    public ResponseEntity<List<TodoResponse>> getAll() {
-        return ResponseEntity.ok(todoService.findAll());
+    public ResponseEntity<List<TodoResponse>> getAll(@RequestParam(required = false) Boolean completed) {
+        TodoReadModel readModel = todoReadModel.getIfAvailable();
+        if (readModel != null) {
+            return ResponseEntity.ok(readModel.findAll(completed));
+        }
+        return ResponseEntity.ok(completed == null ? todoService.findAll() : todoService.findByCompleted(completed));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(todoSyncService.changesSince(since, limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TodoResponse> getById(@PathVariable Long id) {
+        TodoReadModel readModel = todoReadModel.getIfAvailable();
+        if (readModel != null) {
+            return ResponseEntity.ok(readModel.findById(id).orElseThrow(() -> new TodoNotFoundException(id)));
+        }
         return ResponseEntity.ok(todoService.findById(id));
     }
 
     @PostMapping
     public ResponseEntity<TodoResponse> create(@Valid @RequestBody TodoRequest request) {
-        TodoResponse created = todoService.create(request);
+        TodoCreateCoalescer coalescer = todoCreateCoalescer.getIfAvailable();
+        TodoResponse created = coalescer != null ? coalescer.create(request) : todoService.create(request);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(created.id())
@@ -50,4 +77,16 @@ public class TodoController {
         todoService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<BulkOperationResponse> completeAll(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedBefore) {
+        return ResponseEntity.ok(todoBulkService.completeAll(updatedBefore));
+    }
+
+    @DeleteMapping("/bulk/completed")
+    public ResponseEntity<BulkOperationResponse> deleteCompleted(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedBefore) {
+        return ResponseEntity.ok(todoBulkService.deleteCompleted(updatedBefore));
+    }
 }
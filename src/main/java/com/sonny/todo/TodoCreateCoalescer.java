@@ -0,0 +1,248 @@
+package com.sonny.todo;
+
+import com.sonny.config.TodoCreateBatchingProperties;
+import com.sonny.exception.DeadlineExceededException;
+import com.sonny.todo.dto.TodoRequest;
+import com.sonny.todo.dto.TodoResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group commit for single-todo creates. Concurrent callers enqueue their request and wait; a flusher thread
+ * gathers up to max-batch-size creates or waits max-wait after the first one, then inserts them with one
+ * multi-row INSERT in one transaction, so N creates share a single commit. If the batch fails, its items are
+ * retried one transaction each so only the offending create fails.
+ * <p>
+ * Each create is claimed exactly once, either by the flusher or by its caller giving up on timeout. A caller that
+ * times out first gets a 504 and its create is dropped, so a retry cannot duplicate it. A caller whose create
+ * is already being inserted waits for that outcome instead.
+ * <p>
+ * Opt-in with {@code app.todo-create-batching.enabled}; {@link TodoController} uses it when present.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.todo-create-batching", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TodoCreateBatchingProperties.class)
+@Slf4j
+public class TodoCreateCoalescer implements SmartLifecycle {
+
+    private static final String SYSTEM_ACTOR = "system";
+    private static final long GATHER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private record Pending(TodoRequest request, String actor, CompletableFuture<TodoResponse> result,
+                           AtomicBoolean claimed) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private final TodoBatchInsertRepository repository;
+    private final TodoService todoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoCreateBatchingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TodoCreateCoalescer(TodoBatchInsertRepository repository,
+                               TodoService todoService,
+                               ApplicationEventPublisher eventPublisher,
+                               TodoCreateBatchingProperties properties,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.todoService = todoService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.batchSizes = DistributionSummary.builder("todo.create.batch.size")
+                .description("Creates committed per group-commit transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("todo.create.batch.fallbacks")
+                .description("Batches that failed and were retried one create per transaction")
+                .register(meterRegistry);
+    }
+
+    public TodoResponse create(TodoRequest request) {
+        Pending pending = new Pending(request, currentActor(), new CompletableFuture<>(), new AtomicBoolean());
+        if (!running || !queue.offer(pending)) {
+            // Shutting down or saturated: the caller pays for its own transaction
+            return todoService.create(request);
+        }
+        try {
+            return await(pending, properties.callerTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the batched create", e);
+        }
+    }
+
+    private static TodoResponse await(Pending pending, long timeoutMillis) throws InterruptedException {
+        try {
+            return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Batched create failed", e.getCause());
+        } catch (TimeoutException e) {
+            if (pending.claim()) {
+                // Still queued: withdrawn, the flusher skips it
+                throw new DeadlineExceededException();
+            }
+            // Already in the flusher's transaction: the outcome decides whether the todo exists
+            return await(pending, Long.MAX_VALUE);
+        }
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(properties.maxBatchSize());
+        long maxWaitNanos = properties.maxWait().toNanos();
+        while (running || !queue.isEmpty()) {
+            Pending first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue; // stop() interrupts to end the wait, the loop condition decides
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + maxWaitNanos;
+            while (batch.size() < properties.maxBatchSize() && System.nanoTime() < deadline) {
+                if (queue.drainTo(batch, properties.maxBatchSize() - batch.size()) == 0) {
+                    LockSupport.parkNanos(GATHER_PARK_NANOS);
+                }
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> gathered) {
+        List<Pending> batch = new ArrayList<>(gathered.size());
+        for (Pending pending : gathered) {
+            if (pending.claim()) {
+                batch.add(pending);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<TodoResponse> created = insert(batch);
+            batchSizes.record(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(created.get(i));
+            }
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                batch.getFirst().result().completeExceptionally(batchFailure);
+                return;
+            }
+            fallbacks.increment();
+            log.warn("Batched insert of {} todos failed, retrying individually", batch.size(), batchFailure);
+            for (Pending pending : batch) {
+                try {
+                    pending.result().complete(insert(List.of(pending)).getFirst());
+                } catch (RuntimeException e) {
+                    pending.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private List<TodoResponse> insert(List<Pending> batch) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = repository.allocateIds(batch.size());
+            LocalDateTime now = LocalDateTime.now();
+            List<Todo> todos = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                TodoRequest request = batch.get(i).request();
+                todos.add(Todo.builder()
+                        .id(ids.get(i))
+                        .title(request.title())
+                        .description(request.description())
+                        .completed(request.completed())
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+            repository.insertAll(todos);
+
+            List<TodoResponse> created = new ArrayList<>(todos.size());
+            Instant occurredAt = Instant.now();
+            for (int i = 0; i < todos.size(); i++) {
+                TodoResponse response = todoService.toResponse(todos.get(i));
+                created.add(response);
+                eventPublisher.publishEvent(new TodoChangedEvent(TodoChangedEvent.Type.CREATED, response.id(),
+                        null, response, batch.get(i).actor(), occurredAt));
+            }
+            return created;
+        });
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("todo-create-coalescer").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server so queued creates are still committed
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
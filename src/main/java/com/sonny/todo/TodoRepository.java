@@ -1,5 +1,25 @@
 package com.sonny.todo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {}
+import java.util.List;
+
+public interface TodoRepository extends JpaRepository<Todo, Long> {
+
+    List<Todo> findByCompleted(boolean completed);
+
+    /**
+     * Deletes the row and records its tombstone for delta sync in one statement.
+     */
+    @Modifying
+    @Query(value = """
+            WITH deleted AS (DELETE FROM todos WHERE id = :id RETURNING id)
+            INSERT INTO todo_tombstones (todo_id)
+            SELECT id FROM deleted
+            ON CONFLICT (todo_id) DO NOTHING
+            """, nativeQuery = true)
+    int deleteWithTombstone(@Param("id") Long id);
+}
@@ -3,19 +3,29 @@ package com.sonny.todo;
 import com.sonny.exception.TodoNotFoundException;
 import com.sonny.todo.dto.TodoRequest;
 import com.sonny.todo.dto.TodoResponse;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "todo.service", histogram = true)
 public class TodoService {
 
+    private static final String SYSTEM_ACTOR = "system";
+
     private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MissingTodoCache missingTodos;
 
     public List<TodoResponse> findAll() {
         return todoRepository.findAll().stream()
@@ -23,10 +33,23 @@ public class TodoService {
                 .toList();
     }
 
+    public List<TodoResponse> findByCompleted(boolean completed) {
+        return todoRepository.findByCompleted(completed).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
     public TodoResponse findById(Long id) {
+        if (missingTodos.isMissing(id)) {
+            throw new TodoNotFoundException(id);
+        }
+        long generation = missingTodos.generation();
         return todoRepository.findById(id)
                 .map(this::toResponse)
-                .orElseThrow(() -> new TodoNotFoundException(id));
+                .orElseThrow(() -> {
+                    missingTodos.recordMiss(id, generation);
+                    return new TodoNotFoundException(id);
+                });
     }
 
     @Transactional
@@ -36,7 +59,9 @@ public class TodoService {
                 .description(request.description())
                 .completed(request.completed())
                 .build();
-        return toResponse(todoRepository.save(todo));
+        TodoResponse created = toResponse(todoRepository.save(todo));
+        publish(TodoChangedEvent.Type.CREATED, created.id(), null, created);
+        return created;
     }
 
     @Transactional
@@ -44,24 +69,34 @@ public class TodoService {
     public TodoResponse update(Long id, TodoRequest request) {
         Todo todo = todoRepository.findById(id)
                 .orElseThrow(() -> new TodoNotFoundException(id));
+        TodoResponse before = toResponse(todo);
         todo.setTitle(request.title());
         if (request.description() != null && !request.description().isBlank()) {
             todo.setDescription(request.description());
         }
         todo.setCompleted(request.completed());
-        return toResponse(todoRepository.save(todo));
+        TodoResponse updated = toResponse(todoRepository.save(todo));
+        publish(TodoChangedEvent.Type.UPDATED, id, before, updated);
+        return updated;
     }
 
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void delete(Long id) {
-        if (!todoRepository.existsById(id)) {
-            throw new TodoNotFoundException(id);
-        }
-        todoRepository.deleteById(id);
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new TodoNotFoundException(id));
+        todoRepository.deleteWithTombstone(id);
+        publish(TodoChangedEvent.Type.DELETED, id, toResponse(todo), null);
+    }
+
+    private void publish(TodoChangedEvent.Type type, Long id, TodoResponse before, TodoResponse after) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+        eventPublisher.publishEvent(new TodoChangedEvent(type, id, before, after, actor, Instant.now()));
     }
 
-    private TodoResponse toResponse(Todo todo) {
+    // Package-private for the JMH mapping benchmark
+    TodoResponse toResponse(Todo todo) {
         return new TodoResponse(
                 todo.getId(),
                 todo.getTitle(),
@@ -0,0 +1,108 @@
+package com.sonny.todo;
+
+import com.sonny.todo.dto.TodoResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Change-log queries over todos.change_xid and todo_tombstones.
+ * Both sides are read through their (change_xid, id) indexes, so a page costs O(limit) regardless of table size.
+ */
+@Repository
+@RequiredArgsConstructor
+class TodoSyncRepository {
+
+    record SyncState(long horizon, long compactedThrough) {}
+
+    record Change(long xid, long id, TodoResponse todo) {
+
+        boolean deleted() {
+            return todo == null;
+        }
+    }
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * Every transaction below the snapshot's xmin has finished, so no change below it can still appear.
+     */
+    SyncState syncState() {
+        return jdbcClient.sql("""
+                        SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS horizon, compacted_through
+                        FROM todo_sync_state
+                        """)
+                .query((rs, rowNum) -> new SyncState(rs.getLong("horizon"), rs.getLong("compacted_through")))
+                .single();
+    }
+
+    List<Change> changesAfter(SyncToken since, long horizon, int limit) {
+        return jdbcClient.sql("""
+                        SELECT * FROM (
+                            SELECT change_xid, id, FALSE AS deleted, title, description, completed, created_at, updated_at
+                            FROM todos
+                            WHERE (change_xid, id) > (:xid, :id) AND change_xid < :horizon
+                            UNION ALL
+                            SELECT change_xid, todo_id, TRUE, NULL, NULL, FALSE, NULL, NULL
+                            FROM todo_tombstones
+                            WHERE (change_xid, todo_id) > (:xid, :id) AND change_xid < :horizon
+                              AND change_xid >= :floor
+                        ) changes
+                        ORDER BY change_xid, id
+                        LIMIT :limit
+                        """)
+                .param("xid", since.xid())
+                .param("id", since.id())
+                .param("floor", since.floor())
+                .param("horizon", horizon)
+                .param("limit", limit)
+                .query((rs, rowNum) -> {
+                    long id = rs.getLong("id");
+                    TodoResponse todo = rs.getBoolean("deleted") ? null : new TodoResponse(
+                            id,
+                            rs.getString("title"),
+                            rs.getString("description"),
+                            rs.getBoolean("completed"),
+                            toLocalDateTime(rs.getTimestamp("created_at")),
+                            toLocalDateTime(rs.getTimestamp("updated_at")));
+                    return new Change(rs.getLong("change_xid"), id, todo);
+                })
+                .list();
+    }
+
+    /**
+     * Removes up to {@code batchSize} tombstones older than the cutoff and advances the compaction mark
+     * to the highest change token removed, in a single statement.
+     */
+    int compactTombstones(LocalDateTime cutoff, int batchSize) {
+        return jdbcClient.sql("""
+                        WITH purged AS (
+                            DELETE FROM todo_tombstones
+                            WHERE todo_id IN (
+                                SELECT todo_id FROM todo_tombstones
+                                WHERE deleted_at < :cutoff
+                                ORDER BY deleted_at
+                                LIMIT :batchSize
+                            )
+                            RETURNING change_xid
+                        ), mark AS (
+                            UPDATE todo_sync_state
+                            SET compacted_through = GREATEST(compacted_through, (SELECT MAX(change_xid) FROM purged))
+                            WHERE EXISTS (SELECT 1 FROM purged)
+                        )
+                        SELECT COUNT(*) FROM purged
+                        """)
+                .param("cutoff", cutoff)
+                .param("batchSize", batchSize)
+                .query(Integer.class)
+                .single();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
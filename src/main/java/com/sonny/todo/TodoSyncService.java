@@ -0,0 +1,73 @@
+package com.sonny.todo;
+
+import com.sonny.config.TodoSyncProperties;
+import com.sonny.exception.SyncTokenExpiredException;
+import com.sonny.todo.dto.TodoChangesResponse;
+import com.sonny.todo.dto.TodoResponse;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for offline clients: created/updated todos and tombstones after a change token, in change order.
+ * Without a token the client gets a full sync that skips tombstones older than its first page.
+ */
+@Service
+@RequiredArgsConstructor
+@EnableConfigurationProperties(TodoSyncProperties.class)
+@Timed(value = "todo.sync", histogram = true)
+public class TodoSyncService {
+
+    private final TodoSyncRepository todoSyncRepository;
+    private final TodoSyncProperties properties;
+
+    // REPEATABLE READ: the horizon and the page must come from the same snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public TodoChangesResponse changesSince(String token, Integer limit) {
+        TodoSyncRepository.SyncState state = todoSyncRepository.syncState();
+        SyncToken since = token == null || token.isBlank()
+                ? new SyncToken(0, 0, state.horizon())
+                : SyncToken.parse(token);
+        if (state.compactedThrough() > 0 && state.compactedThrough() >= since.neededFrom()) {
+            throw new SyncTokenExpiredException();
+        }
+
+        int pageSize = limit == null
+                ? properties.defaultPageSize()
+                : Math.clamp(limit, 1, properties.maxPageSize());
+        List<TodoSyncRepository.Change> changes =
+                todoSyncRepository.changesAfter(since, state.horizon(), pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+
+        List<TodoResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (TodoSyncRepository.Change change : changes) {
+            if (change.deleted()) {
+                deleted.add(change.id());
+            } else {
+                changed.add(change.todo());
+            }
+        }
+
+        // A partial page means the client is complete up to the horizon, which becomes its new floor
+        SyncToken next = hasMore
+                ? new SyncToken(changes.getLast().xid(), changes.getLast().id(), since.floor())
+                : new SyncToken(state.horizon(), 0, state.horizon());
+        return new TodoChangesResponse(changed, deleted, next.toString(), hasMore);
+    }
+
+    @Transactional
+    public int compactTombstones(LocalDateTime cutoff, int batchSize) {
+        return todoSyncRepository.compactTombstones(cutoff, batchSize);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sonny.todo;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Published by {@link TodoBulkService} once per committed chunk of a set-based update or delete.
+ * Listeners that key state by todo id must evict or refresh it; {@code titles} is parallel to
+ * {@code todoIds} (the title each todo had when the chunk ran) for listeners keyed by title.
+ */
+public record TodosBulkChangedEvent(
+        TodoChangedEvent.Type type,
+        List<Long> todoIds,
+        List<String> titles,
+        String actor,
+        Instant occurredAt
+) {}
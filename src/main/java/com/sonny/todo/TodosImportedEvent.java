@@ -0,0 +1,15 @@
+package com.sonny.todo;
+
+import java.time.Instant;
+
+/**
+ * Published once per committed import. The imported rows are exactly those still carrying
+ * {@code changeXid} (the import transaction id) in {@code todos.change_xid}, so listeners can read
+ * them back set-based instead of receiving millions of ids.
+ */
+public record TodosImportedEvent(
+        long changeXid,
+        long count,
+        String actor,
+        Instant occurredAt
+) {}
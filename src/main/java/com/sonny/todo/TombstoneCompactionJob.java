@@ -0,0 +1,52 @@
+package com.sonny.todo;
+
+import com.sonny.config.TodoSyncProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Removes todo tombstones past the retention window, one small transaction per batch.
+ * Sync tokens older than the compacted range are answered with 410 and the client resyncs from scratch.
+ */
+@Component
+@Slf4j
+public class TombstoneCompactionJob {
+
+    private final TodoSyncService todoSyncService;
+    private final TodoSyncProperties properties;
+    private final Counter compactedCounter;
+
+    public TombstoneCompactionJob(TodoSyncService todoSyncService,
+                                  TodoSyncProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.todoSyncService = todoSyncService;
+        this.properties = properties;
+        this.compactedCounter = Counter.builder("todo.tombstones.compacted")
+                .description("Todo tombstones removed after the sync retention window")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.todo-sync.compaction-interval}",
+            initialDelayString = "${app.todo-sync.compaction-interval}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.tombstoneRetention());
+        int batchSize = properties.compactionBatchSize();
+        long total = 0;
+        int removed;
+
+        do {
+            removed = todoSyncService.compactTombstones(cutoff, batchSize);
+            total += removed;
+            compactedCounter.increment(removed);
+        } while (removed == batchSize);
+
+        if (total > 0) {
+            log.info("Compacted {} todo tombstones older than {}", total, cutoff);
+        }
+    }
+}
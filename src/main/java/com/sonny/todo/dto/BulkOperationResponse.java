@@ -0,0 +1,5 @@
+package com.sonny.todo.dto;
+
+public record BulkOperationResponse(
+        long affected
+) {}
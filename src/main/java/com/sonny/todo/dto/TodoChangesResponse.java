@@ -0,0 +1,10 @@
+package com.sonny.todo.dto;
+
+import java.util.List;
+
+public record TodoChangesResponse(
+        List<TodoResponse> changed,
+        List<Long> deleted,
+        String nextToken,
+        boolean hasMore
+) {}
@@ -1,5 +1,6 @@
 package com.sonny.user;
 
+import com.sonny.logging.LogRateLimiter;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +9,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashSet;
@@ -23,6 +25,9 @@ import java.util.UUID;
 @Slf4j
 public class User implements UserDetails {
 
+    // Authorities are read on every authenticated request
+    private static final LogRateLimiter ROLES_LOG_LIMIT = new LogRateLimiter(10, Duration.ofSeconds(1));
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -40,6 +45,13 @@ public class User implements UserDetails {
     @Builder.Default
     private Set<Role> roles = new HashSet<>(Set.of(Role.USER));
 
+    /**
+     * Bumped on "log out everywhere"; access tokens carrying an older epoch are rejected.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private int tokenEpoch = 0;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -51,7 +63,9 @@ public class User implements UserDetails {
     @Override
     @NonNull
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        log.error("User {} has roles: {}", email, roles);
+        if (log.isDebugEnabled() && ROLES_LOG_LIMIT.tryAcquire()) {
+            log.debug("User {} has roles: {} ({} similar suppressed)", email, roles, ROLES_LOG_LIMIT.drainSuppressed());
+        }
         return roles.stream()
                 .map(role -> new SimpleGrantedAuthority(role.name()))
                 .toList();
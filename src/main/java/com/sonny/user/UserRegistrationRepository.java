@@ -0,0 +1,58 @@
+package com.sonny.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Registers a user, their default role and their first refresh token in a single statement.
+ * The unique constraint on users.email arbitrates concurrent registrations: the loser simply
+ * gets no row back instead of a constraint violation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserRegistrationRepository {
+
+    private static final String REGISTER_SQL = """
+            WITH new_user AS (
+                INSERT INTO users (email, password_hash, created_at)
+                VALUES (:email, :passwordHash, :userCreatedAt)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id
+            ), new_role AS (
+                INSERT INTO user_roles (user_id, role)
+                SELECT id, :role FROM new_user
+            ), new_refresh_token AS (
+                INSERT INTO refresh_tokens (token, user_id, expires_at, created_at)
+                SELECT :refreshToken, id, :expiresAt, :tokenCreatedAt FROM new_user
+            )
+            SELECT id FROM new_user
+            """;
+
+    private final JdbcClient jdbcClient;
+
+    /**
+     * @return the id of the new user, or empty if the email is already registered
+     */
+    public Optional<UUID> register(String email, String passwordHash, Role role,
+                                   String refreshToken, Instant refreshTokenExpiresAt) {
+        // Same temporal bindings Hibernate uses for User (LocalDateTime) and RefreshToken (Instant)
+        return jdbcClient.sql(REGISTER_SQL)
+                .param("email", email)
+                .param("passwordHash", passwordHash)
+                .param("role", role.name())
+                .param("refreshToken", refreshToken)
+                .param("expiresAt", refreshTokenExpiresAt.atOffset(ZoneOffset.UTC))
+                .param("userCreatedAt", LocalDateTime.now())
+                .param("tokenCreatedAt", OffsetDateTime.now(ZoneOffset.UTC))
+                .query(UUID.class)
+                .optional();
+    }
+}
@@ -1,6 +1,9 @@
 package com.sonny.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -9,5 +12,10 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmail(String email);
 
-    boolean existsByEmail(String email);
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.email = :email")
+    Optional<Integer> findTokenEpochByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.email = :email")
+    int incrementTokenEpoch(@Param("email") String email);
 }
@@ -0,0 +1,116 @@
+package com.sonny.warmup;
+
+import com.sonny.auth.AccessTokenMinter;
+import com.sonny.auth.TokenEpochStore;
+import com.sonny.config.WarmupProperties;
+import com.sonny.exception.TodoNotFoundException;
+import com.sonny.todo.TodoService;
+import com.sonny.todo.dto.TodoResponse;
+import com.sonny.user.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives synthetic calls through the request hot paths before the instance is marked ready.
+ * Application runners complete before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC},
+ * so the readiness probe keeps traffic away until the JIT has compiled these paths.
+ * Nothing is written: tokens are minted for a probe subject and the todo probe is a read of a missing id.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String PROBE_EMAIL = "warmup@localhost";
+    private static final long PROBE_TODO_ID = -1L;
+    private static final int BATCH = 100;
+    private static final int TODO_PROBE_EVERY = 10;
+
+    private final WarmupProperties properties;
+    private final AccessTokenMinter accessTokenMinter;
+    private final JwtDecoder jwtDecoder;
+    private final TokenEpochStore tokenEpochStore;
+    private final JsonMapper jsonMapper;
+    private final TodoService todoService;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // The probe subject has no users row: seed its epoch so decoding starts from the cache
+        tokenEpochStore.advance(PROBE_EMAIL, 0);
+        User probe = User.builder().email(PROBE_EMAIL).build();
+        List<TodoResponse> payload = samplePayload();
+
+        long start = System.nanoTime();
+        long deadline = start + properties.timeBudget().toNanos();
+        long batchStart = start;
+        double firstBatchMicros = 0;
+        double lastBatchMicros = 0;
+        int iterations = 0;
+
+        while (iterations < properties.iterations() && System.nanoTime() < deadline) {
+            jwtDecoder.decode(accessTokenMinter.mint(probe));
+            jsonMapper.writeValueAsBytes(payload);
+            if (iterations % TODO_PROBE_EVERY == 0) {
+                probeTodoService();
+            }
+            iterations++;
+
+            if (iterations % BATCH == 0) {
+                long now = System.nanoTime();
+                lastBatchMicros = TimeUnit.NANOSECONDS.toMicros(now - batchStart) / (double) BATCH;
+                if (firstBatchMicros == 0) {
+                    firstBatchMicros = lastBatchMicros;
+                }
+                batchStart = now;
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int completed = iterations;
+        Gauge.builder("app.warmup.iterations", () -> completed)
+                .description("Synthetic hot-path iterations run before accepting traffic")
+                .register(meterRegistry);
+        Gauge.builder("app.warmup.duration", () -> elapsedMillis)
+                .description("Time spent warming up before accepting traffic")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        log.info("Warm-up finished: {} iterations in {} ms, {} µs/iteration at start vs {} µs/iteration at end",
+                iterations, elapsedMillis,
+                String.format("%.1f", firstBatchMicros), String.format("%.1f", lastBatchMicros));
+    }
+
+    private void probeTodoService() {
+        try {
+            todoService.findById(PROBE_TODO_ID);
+        } catch (TodoNotFoundException expected) {
+            // Ids are BIGSERIAL, the probe id never exists, and MissingTodoCache never caches it
+        }
+    }
+
+    private static List<TodoResponse> samplePayload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TodoResponse> payload = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            payload.add(new TodoResponse(id, "Warm-up todo " + id, "Synthetic description " + id,
+                    id % 2 == 0, now, now));
+        }
+        return payload;
+    }
+}
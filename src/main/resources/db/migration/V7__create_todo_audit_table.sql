@@ -0,0 +1,12 @@
+CREATE TABLE todo_audit
+(
+    id          BIGSERIAL   PRIMARY KEY,
+    todo_id     BIGINT      NOT NULL,
+    action      VARCHAR(16) NOT NULL,
+    actor       VARCHAR(255) NOT NULL,
+    before      JSONB,
+    after       JSONB,
+    occurred_at TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX idx_todo_audit_todo_id ON todo_audit (todo_id);
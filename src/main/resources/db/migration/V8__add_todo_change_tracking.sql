@@ -0,0 +1,39 @@
+-- Change token for delta sync: id of the transaction that last wrote the row.
+-- Every transaction below pg_snapshot_xmin() has finished, so a client that has seen all rows up to
+-- that horizon can never miss a late-committing write.
+ALTER TABLE todos
+    ADD COLUMN change_xid BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint;
+
+CREATE INDEX idx_todos_change_xid ON todos (change_xid, id);
+
+CREATE FUNCTION todos_stamp_change_xid() RETURNS trigger AS
+$$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_todos_change_xid
+    BEFORE UPDATE ON todos
+    FOR EACH ROW
+EXECUTE FUNCTION todos_stamp_change_xid();
+
+CREATE TABLE todo_tombstones
+(
+    todo_id    BIGINT    PRIMARY KEY,
+    change_xid BIGINT    NOT NULL DEFAULT pg_current_xact_id()::text::bigint,
+    deleted_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_todo_tombstones_change_xid ON todo_tombstones (change_xid, todo_id);
+CREATE INDEX idx_todo_tombstones_deleted_at ON todo_tombstones (deleted_at);
+
+-- Highest tombstone change token removed by compaction; older sync tokens need a full resync
+CREATE TABLE todo_sync_state
+(
+    id                 BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    compacted_through  BIGINT  NOT NULL DEFAULT 0
+);
+
+INSERT INTO todo_sync_state DEFAULT VALUES;
@@ -0,0 +1,255 @@
+package com.sonny;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL round-trip budgets per endpoint. A change that adds a query fails here with the executed SQL listed.
+ * Setup (registration, login, cache warm-up) happens outside the measured block.
+ */
+@SpringBootTest(properties = "app.refresh-token-purge.enabled=false")
+@AutoConfigureMockMvc
+@Import(EmbeddedPostgresTestConfig.class)
+@DisplayName("SQL statement budgets")
+class EndpointSqlBudgetTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SqlStatementRecorder sql;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private JsonNode user;
+    private JsonNode admin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = registerAndLogin(false);
+        admin = registerAndLogin(true);
+    }
+
+    @Nested
+    @DisplayName("AuthController")
+    class Auth {
+
+        @Test
+        @DisplayName("POST /api/auth/register: single conflict-aware insert")
+        void register() throws Exception {
+            sql.assertStatements(1, () -> postJson("/api/auth/register", null, credentials(newEmail()))
+                    .andExpect(status().isCreated()));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/login: user + roles, refresh-token delete + insert")
+        void login() throws Exception {
+            String email = newEmail();
+            postJson("/api/auth/register", null, credentials(email)).andExpect(status().isCreated());
+
+            sql.assertStatements(4, () -> postJson("/api/auth/login", null, credentials(email))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/refresh: token lookup, delete, user load, insert")
+        void refresh() throws Exception {
+            sql.assertStatements(4, () -> postJson("/api/auth/refresh", null,
+                    Map.of("refreshToken", user.get("refreshToken").asText()))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/logout: user + roles, refresh-token delete")
+        void logout() throws Exception {
+            sql.assertStatements(3, () -> postJson("/api/auth/logout", accessToken(user), null)
+                    .andExpect(status().isNoContent()));
+        }
+
+        @Test
+        @DisplayName("POST /api/auth/logout-all: epoch bump + read, user + roles, refresh-token delete")
+        void logoutAll() throws Exception {
+            sql.assertStatements(5, () -> postJson("/api/auth/logout-all", accessToken(user), null)
+                    .andExpect(status().isNoContent()));
+        }
+    }
+
+    @Nested
+    @DisplayName("TodoController")
+    class Todos {
+
+        @Test
+        @DisplayName("GET /api/todos")
+        void findAll() throws Exception {
+            createTodo();
+
+            sql.assertStatements(1, () -> mockMvc.perform(get("/api/todos")
+                            .header("Authorization", accessToken(user)))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("GET /api/todos/changes: sync horizon + one page of changes")
+        void changes() throws Exception {
+            createTodo();
+
+            sql.assertStatements(2, () -> mockMvc.perform(get("/api/todos/changes")
+                            .header("Authorization", accessToken(user)))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("GET /api/todos/{id}")
+        void findById() throws Exception {
+            long id = createTodo();
+
+            sql.assertStatements(1, () -> mockMvc.perform(get("/api/todos/{id}", id)
+                            .header("Authorization", accessToken(user)))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("GET /api/todos/{id} for a missing id")
+        void findByIdMissing() throws Exception {
+            sql.assertStatements(1, () -> mockMvc.perform(get("/api/todos/{id}", Long.MAX_VALUE)
+                            .header("Authorization", accessToken(user)))
+                    .andExpect(status().isNotFound()));
+        }
+
+        @Test
+        @DisplayName("POST /api/todos")
+        void create() throws Exception {
+            sql.assertStatements(1, () -> postJson("/api/todos", accessToken(user), todo("Buy groceries"))
+                    .andExpect(status().isCreated()));
+        }
+
+        @Test
+        @DisplayName("PUT /api/todos/{id}: load + update")
+        void update() throws Exception {
+            long id = createTodo();
+
+            sql.assertStatements(2, () -> mockMvc.perform(put("/api/todos/{id}", id)
+                            .header("Authorization", accessToken(admin))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(todo("Buy more groceries"))))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("DELETE /api/todos/{id}: load + delete-with-tombstone")
+        void deleteTodo() throws Exception {
+            long id = createTodo();
+
+            sql.assertStatements(2, () -> mockMvc.perform(delete("/api/todos/{id}", id)
+                            .header("Authorization", accessToken(admin)))
+                    .andExpect(status().isNoContent()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk operations")
+    class Bulk {
+
+        @Test
+        @DisplayName("POST /api/todos/bulk/complete: one UPDATE per chunk + audit insert, independent of row count")
+        void completeAll() throws Exception {
+            for (int i = 0; i < 5; i++) {
+                createTodo();
+            }
+
+            sql.assertStatements(2, () -> mockMvc.perform(post("/api/todos/bulk/complete")
+                            .header("Authorization", accessToken(admin)))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        @DisplayName("DELETE /api/todos/bulk/completed: one DELETE-with-tombstones per chunk + audit insert")
+        void deleteCompleted() throws Exception {
+            for (int i = 0; i < 5; i++) {
+                createTodo();
+            }
+            mockMvc.perform(post("/api/todos/bulk/complete").header("Authorization", accessToken(admin)))
+                    .andExpect(status().isOk());
+
+            sql.assertStatements(2, () -> mockMvc.perform(delete("/api/todos/bulk/completed")
+                            .header("Authorization", accessToken(admin)))
+                    .andExpect(status().isOk()));
+        }
+    }
+
+    private JsonNode registerAndLogin(boolean asAdmin) throws Exception {
+        String email = newEmail();
+        postJson("/api/auth/register", null, credentials(email)).andExpect(status().isCreated());
+        if (asAdmin) {
+            jdbcClient.sql("INSERT INTO user_roles (user_id, role) SELECT id, 'ADMIN' FROM users WHERE email = ?")
+                    .param(email)
+                    .update();
+        }
+        JsonNode tokens = objectMapper.readTree(postJson("/api/auth/login", null, credentials(email))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        // Warm the token-epoch cache so budgets only cover the endpoint's own queries
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + tokens.get("accessToken").asText()))
+                .andExpect(status().isOk());
+        return tokens;
+    }
+
+    private long createTodo() throws Exception {
+        return objectMapper.readTree(postJson("/api/todos", accessToken(user), todo("Buy groceries"))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString())
+                .get("id").asLong();
+    }
+
+    private ResultActions postJson(String path, String authorization, Map<String, ?> body) throws Exception {
+        MockHttpServletRequestBuilder request = post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body == null ? "" : objectMapper.writeValueAsString(body));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private static String accessToken(JsonNode tokens) {
+        return "Bearer " + tokens.get("accessToken").asText();
+    }
+
+    private static Map<String, Object> credentials(String email) {
+        return Map.of("email", email, "password", PASSWORD);
+    }
+
+    private static Map<String, Object> todo(String title) {
+        return Map.of("title", title, "description", "Milk, Eggs", "completed", false);
+    }
+
+    private static String newEmail() {
+        return "user-" + UUID.randomUUID() + "@example.com";
+    }
+}
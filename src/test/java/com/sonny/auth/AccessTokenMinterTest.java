@@ -0,0 +1,81 @@
+package com.sonny.auth;
+
+import com.sonny.config.JwtProperties;
+import com.sonny.user.Role;
+import com.sonny.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AccessTokenMinter")
+class AccessTokenMinterTest {
+
+    private static final String SECRET = "a-test-secret-that-is-at-least-32-chars-long!!";
+
+    private final AccessTokenMinter minter = new AccessTokenMinter(new JwtProperties(SECRET, 300000, 600000));
+
+    private final NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(
+            new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256")).build();
+
+    private User buildUser(String email, Set<Role> roles, int tokenEpoch) {
+        return User.builder()
+                .email(email)
+                .roles(roles)
+                .tokenEpoch(tokenEpoch)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should mint tokens that NimbusJwtDecoder accepts with the expected claims")
+    void should_beDecodableByNimbus() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Jwt jwt = decoder.decode(minter.mint(buildUser("jane@example.com", Set.of(Role.USER, Role.ADMIN), 3), now));
+
+        assertThat(jwt.getHeaders()).containsEntry("alg", "HS256");
+        assertThat(jwt.getSubject()).isEqualTo("jane@example.com");
+        assertThat(jwt.getClaimAsStringList("authorities")).containsExactlyInAnyOrder("USER", "ADMIN");
+        assertThat(jwt.getIssuedAt()).isEqualTo(now);
+        assertThat(jwt.getExpiresAt()).isEqualTo(now.plusSeconds(300));
+        assertThat(jwt.getId()).isNotBlank();
+        assertThat(((Number) jwt.getClaim(TokenEpochStore.CLAIM)).intValue()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should escape JSON special characters in the subject")
+    void should_escapeSubject() {
+        Jwt jwt = decoder.decode(minter.mint(buildUser("we\"ird\\name@example.com", Set.of(Role.USER), 0)));
+
+        assertThat(jwt.getSubject()).isEqualTo("we\"ird\\name@example.com");
+    }
+
+    @Test
+    @DisplayName("should issue a distinct jti for every token")
+    void should_issueUniqueIds() {
+        User user = buildUser("jane@example.com", Set.of(Role.USER), 0);
+
+        assertThat(decoder.decode(minter.mint(user)).getId())
+                .isNotEqualTo(decoder.decode(minter.mint(user)).getId());
+    }
+
+    @Test
+    @DisplayName("should produce tokens rejected by a decoder using another key")
+    void should_beRejected_when_keyDiffers() {
+        NimbusJwtDecoder otherDecoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(
+                "another-secret-that-is-at-least-32-chars-long!".getBytes(StandardCharsets.UTF_8), "HmacSHA256")).build();
+
+        String token = minter.mint(buildUser("jane@example.com", Set.of(Role.USER), 0));
+
+        assertThatThrownBy(() -> otherDecoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,161 @@
+package com.sonny.auth;
+
+import com.sonny.auth.dto.AuthResponse;
+import com.sonny.auth.dto.RegisterRequest;
+import com.sonny.config.JwtProperties;
+import com.sonny.exception.EmailAlreadyExistsException;
+import com.sonny.user.Role;
+import com.sonny.user.UserRegistrationRepository;
+import com.sonny.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthService")
+class AuthServiceTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    UserRegistrationRepository userRegistrationRepository;
+
+    @Mock
+    PasswordEncoder passwordEncoder;
+
+    @Mock
+    AuthenticationManager authenticationManager;
+
+    @Mock
+    JwtDecoder jwtDecoder;
+
+    @Mock
+    TokenEpochStore tokenEpochStore;
+
+    @Mock
+    RefreshTokenService refreshTokenService;
+
+    AccessTokenMinter accessTokenMinter;
+
+    AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties("a-test-secret-that-is-at-least-32-chars-long!!", 300000, 600000);
+        accessTokenMinter = spy(new AccessTokenMinter(jwtProperties));
+        authService = new AuthService(userRepository, userRegistrationRepository, passwordEncoder,
+                authenticationManager, accessTokenMinter, jwtDecoder, new TokenBlacklist(), tokenEpochStore,
+                jwtProperties, refreshTokenService);
+    }
+
+    @Nested
+    @DisplayName("register")
+    class Register {
+
+        private final RegisterRequest request = new RegisterRequest("jane@example.com", "password123");
+
+        @Test
+        @DisplayName("should insert user, role and refresh token in one call and return tokens")
+        void should_registerInOneCall_when_emailIsFree() {
+            given(passwordEncoder.encode("password123")).willReturn("hash");
+            given(userRegistrationRepository.register(eq("jane@example.com"), eq("hash"), eq(Role.USER),
+                    anyString(), any(Instant.class)))
+                    .willReturn(Optional.of(UUID.randomUUID()));
+            AuthResponse response = authService.register(request);
+
+            assertThat(response.accessToken()).isNotBlank();
+            assertThat(response.refreshToken()).isNotBlank();
+            then(userRegistrationRepository).should().register(eq("jane@example.com"), eq("hash"), eq(Role.USER),
+                    eq(response.refreshToken()), any(Instant.class));
+            then(userRepository).shouldHaveNoInteractions();
+            then(refreshTokenService).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("should throw EmailAlreadyExistsException when the insert hits the email conflict")
+        void should_throwEmailAlreadyExists_when_emailIsTaken() {
+            given(passwordEncoder.encode("password123")).willReturn("hash");
+            given(userRegistrationRepository.register(anyString(), anyString(), any(), anyString(), any()))
+                    .willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> authService.register(request))
+                    .isInstanceOf(EmailAlreadyExistsException.class)
+                    .hasMessageContaining("jane@example.com");
+
+            then(accessTokenMinter).should(never()).mint(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("logoutAll")
+    class LogoutAll {
+
+        private final Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("jane@example.com")
+                .build();
+
+        @BeforeEach
+        void setUp() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @AfterEach
+        void tearDown() {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        @Test
+        @DisplayName("should bump the column and advance the in-memory epoch only after commit")
+        void should_advanceEpoch_when_committed() {
+            given(jwtDecoder.decode("token")).willReturn(jwt);
+            given(userRepository.incrementTokenEpoch("jane@example.com")).willReturn(1);
+            given(userRepository.findTokenEpochByEmail("jane@example.com")).willReturn(Optional.of(3));
+
+            authService.logoutAll("Bearer token");
+
+            then(userRepository).should().incrementTokenEpoch("jane@example.com");
+            then(tokenEpochStore).shouldHaveNoInteractions();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            then(tokenEpochStore).should().advance("jane@example.com", 3);
+        }
+
+        @Test
+        @DisplayName("should leave the in-memory epoch unchanged when the transaction rolls back")
+        void should_notAdvanceEpoch_when_rolledBack() {
+            given(jwtDecoder.decode("token")).willReturn(jwt);
+            given(userRepository.incrementTokenEpoch("jane@example.com")).willReturn(1);
+            given(userRepository.findTokenEpochByEmail("jane@example.com")).willReturn(Optional.of(3));
+
+            authService.logoutAll("Bearer token");
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            then(tokenEpochStore).shouldHaveNoInteractions();
+        }
+    }
+}
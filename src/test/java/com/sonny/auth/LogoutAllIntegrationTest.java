@@ -0,0 +1,71 @@
+package com.sonny.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.refresh-token-purge.enabled=false")
+@AutoConfigureMockMvc
+@Import(EmbeddedPostgresTestConfig.class)
+@DisplayName("POST /api/auth/logout-all")
+class LogoutAllIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    @Autowired
+    TokenEpochStore tokenEpochStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("should bump token_epoch and reject every access token issued before it")
+    void should_revokeEarlierTokens_when_loggedOutEverywhere() throws Exception {
+        String email = "user-" + UUID.randomUUID() + "@example.com";
+        String credentials = objectMapper.writeValueAsString(Map.of("email", email, "password", "password123"));
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isCreated());
+        String first = login(credentials);
+        String second = login(credentials);
+
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer " + first))
+                .andExpect(status().isNoContent());
+
+        assertThat(jdbcClient.sql("SELECT token_epoch FROM users WHERE email = ?").param(email)
+                .query(Integer.class).single()).isEqualTo(1);
+        assertThat(tokenEpochStore.currentEpoch(email)).isEqualTo(1);
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + first))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + second))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + login(credentials)))
+                .andExpect(status().isOk());
+    }
+
+    private String login(String credentials) throws Exception {
+        JsonNode tokens = objectMapper.readTree(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        return tokens.get("accessToken").asText();
+    }
+}
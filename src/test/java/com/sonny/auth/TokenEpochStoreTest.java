@@ -0,0 +1,91 @@
+package com.sonny.auth;
+
+import com.sonny.config.TokenEpochCacheProperties;
+import com.sonny.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenEpochStore")
+class TokenEpochStoreTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    @Mock
+    UserRepository userRepository;
+
+    private TokenEpochStore store(Duration ttl, int maxEntries) {
+        return new TokenEpochStore(userRepository, new TokenEpochCacheProperties(ttl, maxEntries));
+    }
+
+    @Test
+    @DisplayName("should load an epoch once and serve it from memory within the TTL")
+    void should_queryOnce_when_withinTtl() {
+        given(userRepository.findTokenEpochByEmail(EMAIL)).willReturn(Optional.of(2));
+        TokenEpochStore store = store(Duration.ofMinutes(1), 10);
+
+        assertThat(store.currentEpoch(EMAIL)).isEqualTo(2);
+        assertThat(store.currentEpoch(EMAIL)).isEqualTo(2);
+
+        then(userRepository).should(times(1)).findTokenEpochByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("should cache subjects without a users row as epoch 0")
+    void should_cacheMissingUser() {
+        given(userRepository.findTokenEpochByEmail(EMAIL)).willReturn(Optional.empty());
+        TokenEpochStore store = store(Duration.ofMinutes(1), 10);
+
+        assertThat(store.currentEpoch(EMAIL)).isZero();
+        assertThat(store.currentEpoch(EMAIL)).isZero();
+
+        then(userRepository).should(times(1)).findTokenEpochByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("should reload after the TTL and pick up a logout-all made elsewhere")
+    void should_reload_when_expired() {
+        given(userRepository.findTokenEpochByEmail(EMAIL)).willReturn(Optional.of(0), Optional.of(1));
+        TokenEpochStore store = store(Duration.ofNanos(1), 10);
+
+        assertThat(store.isRevoked(EMAIL, 0)).isFalse();
+        assertThat(store.isRevoked(EMAIL, 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should apply an advance at once, without waiting for the TTL")
+    void should_applyAdvance_when_cached() {
+        given(userRepository.findTokenEpochByEmail(EMAIL)).willReturn(Optional.of(0));
+        TokenEpochStore store = store(Duration.ofMinutes(1), 10);
+        store.currentEpoch(EMAIL);
+
+        store.advance(EMAIL, 3);
+
+        assertThat(store.currentEpoch(EMAIL)).isEqualTo(3);
+        assertThat(store.isRevoked(EMAIL, 2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should evict the oldest subject at max entries")
+    void should_evictOldest_when_full() {
+        given(userRepository.findTokenEpochByEmail(anyString())).willReturn(Optional.of(0));
+        TokenEpochStore store = store(Duration.ofMinutes(1), 2);
+
+        store.currentEpoch("a@example.com");
+        store.currentEpoch("b@example.com");
+        store.currentEpoch("c@example.com");
+        store.currentEpoch("a@example.com");
+
+        then(userRepository).should(times(2)).findTokenEpochByEmail("a@example.com");
+        then(userRepository).should(times(1)).findTokenEpochByEmail("c@example.com");
+    }
+}
@@ -0,0 +1,51 @@
+package com.sonny.config;
+
+import com.sonny.deadline.DeadlineStatementListener;
+import com.sonny.profiling.SqlPhaseListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("DataSourceProxyConfig")
+class DataSourceProxyConfigTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+
+    private static BeanPostProcessor postProcessor(Map<String, Object> listeners) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(listeners);
+        return DataSourceProxyConfig.listeningDataSourcePostProcessor(
+                beanFactory.getBeanProvider(DeadlineStatementListener.class),
+                beanFactory.getBeanProvider(SqlPhaseListener.class));
+    }
+
+    @Test
+    @DisplayName("should wrap the DataSource once with every enabled listener, deadline first")
+    void should_shareOneProxy_when_bothFeaturesEnabled() {
+        DeadlineStatementListener deadline = new DeadlineStatementListener();
+        SqlPhaseListener sqlPhase = new SqlPhaseListener();
+
+        Object proxied = postProcessor(Map.of("deadline", deadline, "sqlPhase", sqlPhase))
+                .postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(proxied).isInstanceOf(ProxyDataSource.class);
+        ProxyDataSource proxy = (ProxyDataSource) proxied;
+        assertThat(proxy.getDataSource()).isSameAs(dataSource);
+        assertThat(proxy.getProxyConfig().getQueryListener().getListeners()).containsExactly(deadline, sqlPhase);
+    }
+
+    @Test
+    @DisplayName("should leave the DataSource unwrapped when no listener is enabled")
+    void should_notProxy_when_noFeatureEnabled() {
+        Object processed = postProcessor(Map.of()).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(processed).isSameAs(dataSource);
+    }
+}
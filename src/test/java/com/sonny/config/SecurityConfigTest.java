@@ -0,0 +1,91 @@
+package com.sonny.config;
+
+import com.sonny.auth.AccessTokenMinter;
+import com.sonny.auth.TokenBlacklist;
+import com.sonny.auth.TokenEpochStore;
+import com.sonny.user.Role;
+import com.sonny.user.User;
+import com.sonny.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SecurityConfig")
+class SecurityConfigTest {
+
+    private static final JwtProperties JWT_PROPERTIES =
+            new JwtProperties("a-test-secret-that-is-at-least-32-chars-long!!", 300000, 600000);
+
+    @Mock
+    UserRepository userRepository;
+
+    private final AccessTokenMinter minter = new AccessTokenMinter(JWT_PROPERTIES);
+
+    private String token(int tokenEpoch) {
+        return minter.mint(User.builder()
+                .email("jane@example.com")
+                .roles(Set.of(Role.USER))
+                .tokenEpoch(tokenEpoch)
+                .build());
+    }
+
+    @Nested
+    @DisplayName("jwtDecoder")
+    class JwtDecoderWrapper {
+
+        private final TokenBlacklist tokenBlacklist = new TokenBlacklist();
+
+        private JwtDecoder decoder() {
+            return new SecurityConfig(JWT_PROPERTIES).jwtDecoder(tokenBlacklist,
+                    new TokenEpochStore(userRepository, new TokenEpochCacheProperties(Duration.ofMinutes(1), 100)),
+                    new SimpleMeterRegistry());
+        }
+
+        @Test
+        @DisplayName("should accept a token carrying the user's current epoch")
+        void should_accept_when_epochIsCurrent() {
+            given(userRepository.findTokenEpochByEmail("jane@example.com")).willReturn(Optional.of(2));
+
+            Jwt jwt = decoder().decode(token(2));
+
+            assertThat(jwt.getSubject()).isEqualTo("jane@example.com");
+        }
+
+        @Test
+        @DisplayName("should reject a token issued under an older epoch")
+        void should_reject_when_epochIsOlder() {
+            given(userRepository.findTokenEpochByEmail("jane@example.com")).willReturn(Optional.of(2));
+
+            assertThatThrownBy(() -> decoder().decode(token(1)))
+                    .isInstanceOf(JwtException.class)
+                    .hasMessageContaining("revoked");
+        }
+
+        @Test
+        @DisplayName("should reject a blacklisted token before looking up the epoch")
+        void should_reject_when_blacklisted() {
+            JwtDecoder decoder = decoder();
+            String token = token(0);
+            Jwt jwt = decoder.decode(token);
+            tokenBlacklist.revokeToken(jwt.getId(), Instant.now().plusSeconds(300));
+
+            assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+        }
+    }
+}
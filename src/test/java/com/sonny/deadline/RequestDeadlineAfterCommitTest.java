@@ -0,0 +1,95 @@
+package com.sonny.deadline;
+
+import com.sonny.readmodel.TodoReadModel;
+import com.sonny.suggest.TodoTitleIndex;
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.todo.TodoChangedEvent;
+import com.sonny.todo.TodosBulkChangedEvent;
+import com.sonny.todo.TodosImportedEvent;
+import com.sonny.todo.dto.TodoResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Commits a transaction whose request deadline expires just before the commit, so every after-commit
+ * listener runs on a thread whose budget is already spent.
+ */
+@SpringBootTest(properties = {"app.refresh-token-purge.enabled=false", "app.request-deadline.enabled=true",
+        "app.todo-read-model.enabled=true", "app.todo-suggest.enabled=true"})
+@Import(EmbeddedPostgresTestConfig.class)
+@DisplayName("Request deadline after commit")
+class RequestDeadlineAfterCommitTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(300);
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    @Autowired
+    TodoReadModel todoReadModel;
+
+    @Autowired
+    TodoTitleIndex todoTitleIndex;
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("should still read committed imports and bulk changes back when the deadline has passed")
+    void should_applyAfterCommitReadBacks_when_deadlineExpiredAtCommit() {
+        RequestDeadline.start(BUDGET);
+
+        List<Long> ids = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Long> inserted = List.of(insert("Deadline import one"), insert("Deadline import two"));
+            long changeXid = jdbcClient.sql("SELECT pg_current_xact_id()::text::bigint").query(Long.class).single();
+            eventPublisher.publishEvent(new TodosImportedEvent(changeXid, inserted.size(), "jane", Instant.now()));
+            eventPublisher.publishEvent(new TodosBulkChangedEvent(TodoChangedEvent.Type.UPDATED, inserted,
+                    List.of("Deadline import one", "Deadline import two"), "jane", Instant.now()));
+            sleepPast(BUDGET);
+            return inserted;
+        });
+
+        assertThat(RequestDeadline.remainingNanos()).isNegative();
+        assertThat(ids).allSatisfy(id -> assertThat(todoReadModel.findById(id)).map(TodoResponse::id).contains(id));
+        assertThat(todoTitleIndex.suggest("deadline import", 10))
+                .containsExactlyInAnyOrder("Deadline import one", "Deadline import two");
+    }
+
+    private long insert(String title) {
+        return jdbcClient.sql("INSERT INTO todos (title) VALUES (?) RETURNING id")
+                .param(title)
+                .query(Long.class)
+                .single();
+    }
+
+    private static void sleepPast(Duration budget) {
+        try {
+            Thread.sleep(budget.plusMillis(100));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.sonny.deadline;
+
+import com.sonny.exception.DeadlineExceededException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RequestDeadlineFilter")
+class RequestDeadlineFilterTest {
+
+    private static final String HEADER = "X-Request-Timeout";
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(HEADER, Duration.ofSeconds(10),
+            Duration.ofSeconds(60), endpoints());
+
+    private static Map<String, Duration> endpoints() {
+        Map<String, Duration> endpoints = new LinkedHashMap<>();
+        endpoints.put("/api/todos/import", Duration.ofMinutes(30));
+        endpoints.put("/api/auth/**", Duration.ofSeconds(5));
+        return endpoints;
+    }
+
+    private static MockHttpServletRequest request(String path, String timeout) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (timeout != null) {
+            request.addHeader(HEADER, timeout);
+        }
+        return request;
+    }
+
+    @Nested
+    @DisplayName("timeout")
+    class Timeout {
+
+        @Test
+        @DisplayName("should use the header value in milliseconds")
+        void should_useHeader_when_present() {
+            assertThat(filter.timeout(request("/api/todos", "1500"))).isEqualTo(Duration.ofMillis(1500));
+        }
+
+        @Test
+        @DisplayName("should cap the header value at the maximum")
+        void should_capHeader_when_aboveMaximum() {
+            assertThat(filter.timeout(request("/api/todos", "3600000"))).isEqualTo(Duration.ofSeconds(60));
+        }
+
+        @Test
+        @DisplayName("should fall back to the endpoint default when the header is malformed")
+        void should_useEndpointDefault_when_headerMalformed() {
+            assertThat(filter.timeout(request("/api/auth/login", "soon"))).isEqualTo(Duration.ofSeconds(5));
+        }
+
+        @Test
+        @DisplayName("should use the global default for unlisted paths")
+        void should_useDefault_when_noEndpointMatches() {
+            assertThat(filter.timeout(request("/api/todos/1", null))).isEqualTo(Duration.ofSeconds(10));
+        }
+    }
+
+    @Test
+    @DisplayName("should bind the deadline for the chain only")
+    void should_bindDeadline_duringChain() throws Exception {
+        AtomicLong remainingSeconds = new AtomicLong();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req,
+                                   HttpServletResponse res) {
+                remainingSeconds.set(RequestDeadline.remainingSeconds());
+            }
+        });
+
+        filter.doFilter(request("/api/todos", "2500"), new MockHttpServletResponse(), chain);
+
+        assertThat(remainingSeconds.get()).isEqualTo(3);
+        assertThat(RequestDeadline.isSet()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should fail the check once the deadline has passed")
+    void should_throw_when_expired() {
+        RequestDeadline.start(Duration.ZERO);
+        try {
+            assertThatThrownBy(RequestDeadline::check).isInstanceOf(DeadlineExceededException.class);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -21,4 +21,10 @@ class TodoNotFoundExceptionTest {
     void should_extendRuntimeException() {
         assertThat(new TodoNotFoundException(1L)).isInstanceOf(RuntimeException.class);
     }
+
+    @Test
+    @DisplayName("should not capture a stack trace")
+    void should_beStackless() {
+        assertThat(new TodoNotFoundException(1L).getStackTrace()).isEmpty();
+    }
 }
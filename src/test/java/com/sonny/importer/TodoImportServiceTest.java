@@ -0,0 +1,110 @@
+package com.sonny.importer;
+
+import com.sonny.exception.InvalidImportException;
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "app.refresh-token-purge.enabled=false")
+@Import(EmbeddedPostgresTestConfig.class)
+@WithMockUser(roles = "ADMIN")
+@DisplayName("TodoImportService")
+class TodoImportServiceTest {
+
+    @Autowired
+    TodoImportService importService;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long countTitled(String prefix) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM todos WHERE title LIKE ?")
+                .param(prefix + "%")
+                .query(Long.class)
+                .single();
+    }
+
+    @Test
+    @DisplayName("should import valid NDJSON rows and report invalid and malformed ones by line")
+    void should_importValidRows_when_ndjsonHasBadLines() {
+        String tag = UUID.randomUUID().toString();
+        String ndjson = """
+                {"title":"%1$s one","description":"First","completed":true}
+                {"title":"x"}
+
+                {"title":"%1$s two"
+                {"title":"%1$s three"}
+                """.formatted(tag);
+
+        ImportReport report = importService.importTodos(input(ndjson), ImportFormat.NDJSON);
+
+        assertThat(report.read()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(2L, 4L);
+        assertThat(report.errors().getFirst().message()).startsWith("title:");
+        assertThat(countTitled(tag)).isEqualTo(2);
+        assertThat(jdbcClient.sql("SELECT completed FROM todos WHERE title = ?").param(tag + " one")
+                .query(Boolean.class).single()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should keep quoted commas, quotes and line breaks in CSV fields")
+    void should_importQuotedFields_when_csv() {
+        String tag = UUID.randomUUID().toString();
+        String csv = "title,description,completed\r\n"
+                + "\"%s, groceries\",\"Milk\nEggs \"\"fresh\"\"\",true\r\n".formatted(tag)
+                + "%s plain,,false\r\n".formatted(tag)
+                + "%s broken,,maybe\r\n".formatted(tag);
+
+        ImportReport report = importService.importTodos(input(csv), ImportFormat.CSV);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).singleElement()
+                .satisfies(error -> assertThat(error.line()).isEqualTo(5));
+        assertThat(jdbcClient.sql("SELECT description FROM todos WHERE title = ?").param(tag + ", groceries")
+                .query(String.class).single()).isEqualTo("Milk\nEggs \"fresh\"");
+        assertThat(jdbcClient.sql("SELECT description FROM todos WHERE title = ?").param(tag + " plain")
+                .query(String.class).optional()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject a CSV file without a title column and import nothing")
+    void should_fail_when_csvHeaderLacksTitle() {
+        assertThatThrownBy(() -> importService.importTodos(input("name,completed\nfoo,true\n"), ImportFormat.CSV))
+                .isInstanceOf(InvalidImportException.class);
+    }
+
+    @Test
+    @DisplayName("should write one audit row per imported todo")
+    void should_auditImportedRows() {
+        String tag = UUID.randomUUID().toString();
+
+        importService.importTodos(input("{\"title\":\"%1$s a\"}\n{\"title\":\"%1$s b\"}\n".formatted(tag)),
+                ImportFormat.NDJSON);
+
+        assertThat(jdbcClient.sql("""
+                        SELECT COUNT(*) FROM todo_audit a JOIN todos t ON t.id = a.todo_id
+                        WHERE t.title LIKE ? AND a.action = 'CREATED'
+                        """)
+                .param(tag + "%")
+                .query(Long.class)
+                .single()).isEqualTo(2);
+    }
+}
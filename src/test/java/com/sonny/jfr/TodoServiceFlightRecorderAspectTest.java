@@ -0,0 +1,84 @@
+package com.sonny.jfr;
+
+import com.sonny.exception.TodoNotFoundException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@DisplayName("TodoServiceFlightRecorderAspect")
+class TodoServiceFlightRecorderAspectTest {
+
+    private final TodoServiceFlightRecorderAspect aspect = new TodoServiceFlightRecorderAspect();
+    private final ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    private final Signature signature = mock(Signature.class);
+    private Recording recording;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        recording.enable(TodoOperationEvent.class);
+        recording.start();
+        given(joinPoint.getSignature()).willReturn(signature);
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    private List<RecordedEvent> recordedEvents() throws Exception {
+        recording.stop();
+        Path file = directory.resolve("test.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.sonny.TodoOperation"))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("should record the operation with its row count")
+    void should_recordRows_when_operationSucceeds() throws Throwable {
+        given(signature.getName()).willReturn("findAll");
+        given(joinPoint.getArgs()).willReturn(new Object[0]);
+        given(joinPoint.proceed()).willReturn(List.of("a", "b", "c"));
+
+        assertThat(aspect.record(joinPoint)).isEqualTo(List.of("a", "b", "c"));
+
+        assertThat(recordedEvents()).singleElement().satisfies(event -> {
+            assertThat(event.getString("operation")).isEqualTo("findAll");
+            assertThat(event.getInt("rows")).isEqualTo(3);
+            assertThat(event.getString("outcome")).isEqualTo("OK");
+        });
+    }
+
+    @Test
+    @DisplayName("should record the target id and exception, and rethrow it")
+    void should_recordOutcome_when_operationThrows() throws Throwable {
+        given(signature.getName()).willReturn("findById");
+        given(joinPoint.getArgs()).willReturn(new Object[]{42L});
+        given(joinPoint.proceed()).willThrow(new TodoNotFoundException(42L));
+
+        assertThatThrownBy(() -> aspect.record(joinPoint)).isInstanceOf(TodoNotFoundException.class);
+
+        assertThat(recordedEvents()).singleElement().satisfies(event -> {
+            assertThat(event.getLong("todoId")).isEqualTo(42L);
+            assertThat(event.getString("outcome")).isEqualTo("TodoNotFoundException");
+        });
+    }
+}
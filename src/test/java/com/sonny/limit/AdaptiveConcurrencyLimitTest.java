@@ -0,0 +1,93 @@
+package com.sonny.limit;
+
+import com.sonny.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimit")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long now;
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            new ConcurrencyLimitProperties(true, 20, 4, 200, 1.5, 0.2, Duration.ofMillis(100), 100, List.of()),
+            () -> now);
+
+    // Runs one full window of requests at the given concurrency, each taking rttMillis
+    private void runWindow(int concurrency, long rttMillis) {
+        long start = now;
+        for (int i = 0; i < concurrency; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        now = start + Math.max(WINDOW_NANOS, TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        long requestStart = now - TimeUnit.MILLISECONDS.toNanos(rttMillis);
+        for (int i = 0; i < concurrency; i++) {
+            limit.release(requestStart);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject acquisitions beyond the current limit")
+    void should_reject_when_limitReached() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("should grow the limit while latency stays at the baseline and demand is high")
+    void should_grow_when_latencyIsStable() {
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit.limit(), 5);
+        }
+
+        assertThat(limit.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("should shrink the limit when latency rises well above the baseline")
+    void should_shrink_when_latencyRises() {
+        for (int i = 0; i < 5; i++) {
+            runWindow(limit.limit(), 5);
+        }
+        int beforeSlowdown = limit.limit();
+
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit.limit(), 50);
+        }
+
+        assertThat(limit.limit()).isLessThan(beforeSlowdown);
+    }
+
+    @Test
+    @DisplayName("should not grow the limit when demand stays under half of it")
+    void should_notGrow_when_appLimited() {
+        for (int i = 0; i < 10; i++) {
+            runWindow(9, 5);
+        }
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("should never shrink below the minimum limit")
+    void should_respectMinimum() {
+        runWindow(20, 1);
+        for (int i = 0; i < 50; i++) {
+            runWindow(limit.limit(), 1000);
+        }
+
+        assertThat(limit.limit()).isGreaterThanOrEqualTo(4);
+    }
+}
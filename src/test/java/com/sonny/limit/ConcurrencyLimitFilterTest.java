@@ -0,0 +1,52 @@
+package com.sonny.limit;
+
+import com.sonny.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter")
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            new ConcurrencyLimitProperties(true, 20, 4, 200, 1.5, 0.2, Duration.ofMillis(100), 100, List.of()),
+            System::nanoTime);
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("todos", limit,
+            List.of("/api/todos/import", "/api/todos/bulk/**"), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("should not take a slot for excluded long-running endpoints")
+    void should_bypassLimit_when_pathExcluded() throws Exception {
+        AtomicInteger inFlightDuringChain = new AtomicInteger(-1);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/todos/bulk/complete"), new MockHttpServletResponse(),
+                (request, response) -> inFlightDuringChain.set(limit.inFlight()));
+
+        assertThat(inFlightDuringChain).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should hold the slot of an async request until it completes")
+    void should_releaseOnAsyncCompletion_when_asyncStarted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(limit.inFlight()).isEqualTo(1);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(limit.inFlight()).isZero();
+    }
+}
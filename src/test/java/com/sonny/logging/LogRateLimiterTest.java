@@ -0,0 +1,65 @@
+package com.sonny.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LogRateLimiter")
+class LogRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofSeconds(1), now::get);
+
+    @Test
+    @DisplayName("should let the permitted statements through and suppress the rest of the window")
+    void should_suppress_when_permitsUsed() {
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(limiter.drainSuppressed()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should grant permits again once the window has passed")
+    void should_reset_when_windowPassed() {
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should report suppressed statements once, across windows, until drained")
+    void should_resetCount_when_drained() {
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        assertThat(limiter.drainSuppressed()).isEqualTo(2);
+        assertThat(limiter.drainSuppressed()).isZero();
+    }
+
+    @Test
+    @DisplayName("should not count permitted statements as suppressed")
+    void should_countNothing_when_withinPermits() {
+        limiter.tryAcquire();
+
+        assertThat(limiter.drainSuppressed()).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.sonny.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RequestProfile")
+class RequestProfileTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final RequestProfile profile = new RequestProfile(3);
+
+    @Test
+    @DisplayName("should record nested phases with offsets and durations from the request start")
+    void should_recordNestedPhases() {
+        profile.reset(0);
+        profile.begin("security", null, MS);
+        int sql = profile.begin("sql", "SELECT 1", 2 * MS);
+        profile.end(sql, 5 * MS);
+        profile.end("security", 6 * MS);
+
+        SlowRequest request = profile.snapshot("GET", "/api/todos", 200, 10 * MS);
+
+        assertThat(request.totalMillis()).isEqualTo(10.0);
+        assertThat(request.phases()).containsExactly(
+                new SlowRequest.Phase("security", null, 1.0, 5.0),
+                new SlowRequest.Phase("sql", "SELECT 1", 2.0, 3.0));
+        assertThat(request.droppedPhases()).isZero();
+    }
+
+    @Test
+    @DisplayName("should close the innermost open phase of a name")
+    void should_closeMostRecent_when_endingByName() {
+        profile.reset(0);
+        profile.begin("tx.begin", null, MS);
+        profile.begin("tx.begin", null, 2 * MS);
+        profile.end("tx.begin", 3 * MS);
+
+        SlowRequest request = profile.snapshot("GET", "/", 200, 10 * MS);
+
+        // The outer one stays open and runs to the end of the request
+        assertThat(request.phases()).extracting(SlowRequest.Phase::durationMillis).containsExactly(9.0, 1.0);
+    }
+
+    @Test
+    @DisplayName("should count phases beyond the capacity and ignore ending them")
+    void should_countDropped_when_full() {
+        profile.reset(0);
+        for (int i = 0; i < 5; i++) {
+            int slot = profile.begin("sql", null, i * MS);
+            profile.end(slot, i * MS + MS);
+        }
+
+        SlowRequest request = profile.snapshot("GET", "/", 200, 10 * MS);
+
+        assertThat(request.phases()).hasSize(3);
+        assertThat(request.droppedPhases()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should forget the previous request on reset")
+    void should_startEmpty_when_reset() {
+        profile.reset(0);
+        for (int i = 0; i < 4; i++) {
+            profile.begin("sql", "SELECT " + i, i * MS);
+        }
+
+        profile.reset(20 * MS);
+        profile.begin("security", null, 21 * MS);
+        SlowRequest request = profile.snapshot("GET", "/", 200, 22 * MS);
+
+        assertThat(request.phases()).containsExactly(new SlowRequest.Phase("security", null, 1.0, 1.0));
+        assertThat(request.droppedPhases()).isZero();
+    }
+
+    @Test
+    @DisplayName("should truncate long details")
+    void should_truncateDetail_when_long() {
+        profile.reset(0);
+        profile.begin("sql", "x".repeat(500), 0);
+
+        SlowRequest request = profile.snapshot("GET", "/", 200, MS);
+
+        assertThat(request.phases().getFirst().detail()).hasSize(203).endsWith("...");
+    }
+}
@@ -0,0 +1,63 @@
+package com.sonny.profiling;
+
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs a request through the registered filter chain with every request sampled.
+ */
+@SpringBootTest(properties = {"app.refresh-token-purge.enabled=false", "app.request-profiler.slow-threshold=PT0S"})
+@AutoConfigureMockMvc
+@Import(EmbeddedPostgresTestConfig.class)
+@WithMockUser
+@DisplayName("Request profiling")
+class RequestProfilingIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SlowRequestBuffer slowRequestBuffer;
+
+    @BeforeEach
+    void setUp() {
+        slowRequestBuffer.clear();
+    }
+
+    @Test
+    @DisplayName("should close the security phase before the handler queries the database")
+    void should_closeSecurityPhase_before_handlerRuns() throws Exception {
+        mockMvc.perform(get("/api/todos")).andExpect(status().isOk());
+
+        SlowRequest request = slowRequestBuffer.snapshot().stream()
+                .filter(sampled -> sampled.uri().equals("/api/todos"))
+                .findFirst()
+                .orElseThrow();
+        List<SlowRequest.Phase> security = request.phases().stream()
+                .filter(phase -> phase.name().equals(RequestProfiler.SECURITY))
+                .toList();
+        assertThat(security).hasSize(1);
+        // A phase left open runs to the end of the request and would overlap everything after it.
+        // The nanosecond margin absorbs rounding from adding two millisecond doubles
+        double securityEnd = security.getFirst().offsetMillis() + security.getFirst().durationMillis() - 1e-6;
+        assertThat(request.phases())
+                .filteredOn(phase -> phase.name().equals(RequestProfiler.SQL)
+                        || phase.name().equals(RequestProfiler.SERIALIZATION))
+                .isNotEmpty()
+                .allSatisfy(phase -> assertThat(phase.offsetMillis()).isGreaterThanOrEqualTo(securityEnd));
+    }
+}
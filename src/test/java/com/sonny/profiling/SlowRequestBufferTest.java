@@ -0,0 +1,65 @@
+package com.sonny.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SlowRequestBuffer")
+class SlowRequestBufferTest {
+
+    private static SlowRequest request(int number) {
+        return new SlowRequest("GET", "/api/todos/" + number, 200, Instant.now(), 600, List.of(), 0);
+    }
+
+    private static List<String> uris(SlowRequestBuffer buffer) {
+        return buffer.snapshot().stream().map(SlowRequest::uri).toList();
+    }
+
+    @Test
+    @DisplayName("should return requests newest first")
+    void should_returnNewestFirst() {
+        SlowRequestBuffer buffer = new SlowRequestBuffer(4);
+        for (int i = 1; i <= 3; i++) {
+            buffer.add(request(i));
+        }
+
+        assertThat(uris(buffer)).containsExactly("/api/todos/3", "/api/todos/2", "/api/todos/1");
+    }
+
+    @Test
+    @DisplayName("should overwrite the oldest requests once it wraps around")
+    void should_keepMostRecent_when_wrapped() {
+        SlowRequestBuffer buffer = new SlowRequestBuffer(4);
+        for (int i = 1; i <= 10; i++) {
+            buffer.add(request(i));
+        }
+
+        assertThat(uris(buffer)).containsExactly("/api/todos/10", "/api/todos/9", "/api/todos/8", "/api/todos/7");
+    }
+
+    @Test
+    @DisplayName("should round the capacity up to a power of two")
+    void should_roundCapacityUp() {
+        SlowRequestBuffer buffer = new SlowRequestBuffer(5);
+        for (int i = 1; i <= 10; i++) {
+            buffer.add(request(i));
+        }
+
+        assertThat(buffer.snapshot()).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("should be empty after clear")
+    void should_beEmpty_when_cleared() {
+        SlowRequestBuffer buffer = new SlowRequestBuffer(4);
+        buffer.add(request(1));
+
+        buffer.clear();
+
+        assertThat(buffer.snapshot()).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.sonny.readmodel;
+
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.todo.TodoBulkService;
+import com.sonny.todo.dto.TodoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Applies committed bulk changes to the projection against a real Postgres.
+ */
+@SpringBootTest(properties = {"app.refresh-token-purge.enabled=false", "app.todo-read-model.enabled=true",
+        "app.todo-bulk.chunk-size=2"})
+@Import(EmbeddedPostgresTestConfig.class)
+@WithMockUser(roles = "ADMIN")
+@DisplayName("TodoReadModel against Postgres")
+class TodoReadModelIntegrationTest {
+
+    @Autowired
+    TodoReadModel todoReadModel;
+
+    @Autowired
+    TodoBulkService todoBulkService;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("TRUNCATE todos, todo_tombstones").update();
+    }
+
+    @Test
+    @DisplayName("should read bulk-updated rows back after commit and apply them")
+    void should_applyReadBackRows_when_bulkCompleted() {
+        // Inserted behind the model's back: only the bulk read-back can bring them in
+        List<Long> ids = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> jdbcClient.sql("INSERT INTO todos (title, completed) VALUES (:title, FALSE) RETURNING id")
+                        .param("title", "Bulk " + i)
+                        .query(Long.class)
+                        .single())
+                .toList();
+
+        todoBulkService.completeAll(null);
+
+        assertThat(todoReadModel.findAll(true)).extracting(TodoResponse::id).containsExactlyElementsOf(ids);
+        assertThat(todoReadModel.findAll(false)).isEmpty();
+    }
+}
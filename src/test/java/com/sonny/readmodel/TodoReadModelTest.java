@@ -0,0 +1,84 @@
+package com.sonny.readmodel;
+
+import com.sonny.config.TodoReadModelProperties;
+import com.sonny.todo.TodoChangedEvent;
+import com.sonny.todo.TodosBulkChangedEvent;
+import com.sonny.todo.dto.TodoResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("TodoReadModel")
+class TodoReadModelTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    // Events that carry their rows are applied without touching the database
+    private final TodoReadModel readModel = new TodoReadModel(new TodoReadModelProperties(true, 4, 100),
+            mock(DataSource.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    private static TodoResponse todo(long id, boolean completed) {
+        return new TodoResponse(id, "Todo " + id, id % 3 == 0 ? null : "Description " + id, completed, NOW, NOW);
+    }
+
+    private void put(TodoChangedEvent.Type type, TodoResponse after) {
+        readModel.onTodoChanged(new TodoChangedEvent(type, after.id(), null, after, "jane", Instant.now()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Out of order so inserts land both inside and in front of existing segments
+        LongStream.of(10, 2, 7, 1, 9, 4, 3, 8, 6, 5).forEach(id -> put(TodoChangedEvent.Type.CREATED, todo(id, id % 2 == 0)));
+    }
+
+    @Test
+    @DisplayName("should return every todo in id order across segments")
+    void should_returnAllInIdOrder() {
+        assertThat(readModel.findAll(null)).extracting(TodoResponse::id)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(readModel.findById(7L)).contains(todo(7L, false));
+        assertThat(readModel.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("should filter by completion")
+    void should_filterByCompleted() {
+        assertThat(readModel.findAll(true)).extracting(TodoResponse::id).containsExactly(2L, 4L, 6L, 8L, 10L);
+        assertThat(readModel.findAll(false)).extracting(TodoResponse::id).containsExactly(1L, 3L, 5L, 7L, 9L);
+    }
+
+    @Test
+    @DisplayName("should replace a todo on update")
+    void should_replace_when_updated() {
+        put(TodoChangedEvent.Type.UPDATED, todo(5L, true));
+
+        assertThat(readModel.findById(5L)).get().extracting(TodoResponse::completed).isEqualTo(true);
+        assertThat(readModel.findAll(true)).hasSize(6);
+        assertThat(readModel.size()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("should drop todos on single and bulk delete")
+    void should_remove_when_deleted() {
+        readModel.onTodoChanged(new TodoChangedEvent(TodoChangedEvent.Type.DELETED, 1L, todo(1L, false), null,
+                "jane", Instant.now()));
+        readModel.onTodosBulkChanged(new TodosBulkChangedEvent(TodoChangedEvent.Type.DELETED,
+                List.of(2L, 3L, 4L, 5L), List.of("Todo 2", "Todo 3", "Todo 4", "Todo 5"), "jane", Instant.now()));
+
+        assertThat(readModel.findById(1L)).isEmpty();
+        assertThat(readModel.findAll(null)).extracting(TodoResponse::id).containsExactly(6L, 7L, 8L, 9L, 10L);
+        assertThat(readModel.findAll(true)).extracting(TodoResponse::id).containsExactly(6L, 8L, 10L);
+    }
+}
@@ -0,0 +1,156 @@
+package com.sonny.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Todo snapshot file format")
+class TodoSnapshotFileTest {
+
+    private static final int BLOCK_ROWS = 4;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+
+    @TempDir
+    Path directory;
+
+    private record Row(long id, String title, String description, boolean completed,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {}
+
+    private static List<Row> rows(int count) {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            rows.add(new Row(i * 7L, "Todo " + i + " — ünïcode, \"quoted\"",
+                    i % 3 == 0 ? null : i % 3 == 1 ? "" : "Line one\nline two " + i,
+                    i % 2 == 0, CREATED.plusSeconds(i), CREATED.plusDays(i)));
+        }
+        return rows;
+    }
+
+    private void write(Path file, List<Row> rows, boolean compress, long window) throws Exception {
+        TodoColumnBlock block = new TodoColumnBlock(BLOCK_ROWS);
+        try (TodoSnapshotWriter writer = new TodoSnapshotWriter(file, compress, BLOCK_ROWS, window)) {
+            for (Row row : rows) {
+                block.add(row.id(), row.title(), row.description(), row.completed(), row.createdAt(), row.updatedAt());
+                if (block.isFull()) {
+                    writer.write(block);
+                    block.clear();
+                }
+            }
+            writer.write(block);
+            writer.finish();
+        }
+    }
+
+    private static List<Row> read(Path file) throws Exception {
+        return read(file, TodoSnapshotReader.WINDOW_BYTES);
+    }
+
+    private static List<Row> read(Path file, long window) throws Exception {
+        List<Row> rows = new ArrayList<>();
+        try (TodoSnapshotReader reader = new TodoSnapshotReader(file, window)) {
+            TodoColumnBlock block = new TodoColumnBlock(reader.blockRows());
+            while (reader.next(block)) {
+                for (int i = 0; i < block.size(); i++) {
+                    rows.add(new Row(block.id(i), block.title(i), block.description(i), block.completed(i),
+                            block.createdAt(i), block.updatedAt(i)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("should read back every row across blocks, keeping nulls, empty strings and microseconds")
+    void should_roundTrip() throws Exception {
+        Path file = directory.resolve("todos.snap");
+        List<Row> rows = rows(BLOCK_ROWS * 3 + 1);
+
+        write(file, rows, false, 64);
+
+        assertThat(read(file)).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    @DisplayName("should read back every row when blocks are deflated")
+    void should_roundTrip_when_compressed() throws Exception {
+        Path file = directory.resolve("todos.snap.z");
+        List<Row> rows = rows(BLOCK_ROWS * 3 + 1);
+
+        write(file, rows, true, 64);
+
+        assertThat(read(file)).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    @DisplayName("should truncate the file to the written length")
+    void should_truncateToWrittenLength() throws Exception {
+        Path file = directory.resolve("todos.snap");
+
+        write(file, rows(2), false, 1 << 20);
+
+        assertThat(Files.size(file)).isLessThan(1 << 10);
+    }
+
+    @Test
+    @DisplayName("should produce an empty snapshot when there are no rows")
+    void should_readNothing_when_empty() throws Exception {
+        Path file = directory.resolve("empty.snap");
+
+        write(file, List.of(), true, 64);
+
+        assertThat(read(file)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject a file that is not a snapshot")
+    void should_reject_when_magicDiffers() throws Exception {
+        Path file = directory.resolve("other.snap");
+        Files.writeString(file, "definitely not a snapshot file");
+
+        assertThatThrownBy(() -> new TodoSnapshotReader(file)).isInstanceOf(StreamCorruptedException.class);
+    }
+
+    @Test
+    @DisplayName("should leave no file behind and keep the previous snapshot when not finished")
+    void should_discardPartialFile_when_notFinished() throws Exception {
+        Path file = directory.resolve("todos.snap");
+        write(file, rows(2), false, 64);
+        byte[] previous = Files.readAllBytes(file);
+
+        TodoColumnBlock block = new TodoColumnBlock(BLOCK_ROWS);
+        try (TodoSnapshotWriter writer = new TodoSnapshotWriter(file, false, BLOCK_ROWS, 64)) {
+            block.add(1, "Half-written", null, false, CREATED, CREATED);
+            writer.write(block);
+            // The source read fails here: no finish()
+        }
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(previous);
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("should read blocks that straddle the mapped window")
+    void should_roundTrip_when_blocksCrossWindows() throws Exception {
+        Path file = directory.resolve("todos.snap");
+        // Blocks larger than either window force remaps in the middle of block headers and payloads
+        List<Row> rows = new ArrayList<>();
+        for (int i = 1; i <= BLOCK_ROWS * 5; i++) {
+            rows.add(new Row(i, "x".repeat(2000) + i, null, false, CREATED, CREATED));
+        }
+
+        write(file, rows, false, 4096);
+
+        assertThat(read(file, 4099)).containsExactlyElementsOf(rows);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sonny.snapshot;
+
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.todo.TodosImportedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Dump and restore against a real Postgres. Small blocks make a handful of rows span several of them.
+ */
+@SpringBootTest(properties = {"app.refresh-token-purge.enabled=false", "app.todo-snapshot.block-rows=2"})
+@Import(EmbeddedPostgresTestConfig.class)
+@RecordApplicationEvents
+@DisplayName("TodoSnapshotService")
+class TodoSnapshotServiceTest {
+
+    private static final String SELECT_ALL =
+            "SELECT id, title, description, completed, created_at, updated_at FROM todos ORDER BY id";
+
+    @Autowired
+    TodoSnapshotService snapshotService;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("TRUNCATE todos").update();
+    }
+
+    @Test
+    @DisplayName("should restore every row with its id, move the sequence past them and publish one import event")
+    void should_restoreRowsAndSequence_when_tableIsEmpty() {
+        jdbcClient.sql("""
+                        INSERT INTO todos (title, description, completed, created_at)
+                        VALUES ('Buy groceries', 'Milk, "Eggs"', FALSE, '2025-03-14 15:09:26.535897'),
+                               ('Pay rent', NULL, TRUE, DEFAULT),
+                               ('Call mom', '', FALSE, DEFAULT)
+                        """)
+                .update();
+        // A gap in the ids, which the restore must keep
+        jdbcClient.sql("DELETE FROM todos WHERE title = 'Pay rent'").update();
+        List<Map<String, Object>> before = jdbcClient.sql(SELECT_ALL).query().listOfRows();
+        Path file = directory.resolve("todos.snap");
+        snapshotService.dump(file, true);
+        jdbcClient.sql("TRUNCATE todos").update();
+
+        TodoSnapshotService.Summary summary = snapshotService.restore(file);
+
+        assertThat(summary.rows()).isEqualTo(2);
+        assertThat(jdbcClient.sql(SELECT_ALL).query().listOfRows()).isEqualTo(before);
+        long maxId = (Long) before.getLast().get("id");
+        assertThat(jdbcClient.sql("INSERT INTO todos (title) VALUES ('After restore') RETURNING id")
+                .query(Long.class).single()).isGreaterThan(maxId);
+        assertThat(events.stream(TodosImportedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.count()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("should refuse to restore into a table that already has rows")
+    void should_refuse_when_tableIsNotEmpty() {
+        jdbcClient.sql("INSERT INTO todos (title) VALUES ('Existing')").update();
+        Path file = directory.resolve("todos.snap");
+        snapshotService.dump(file, false);
+
+        assertThatThrownBy(() -> snapshotService.restore(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not empty");
+        assertThat(jdbcClient.sql("SELECT COUNT(*) FROM todos").query(Long.class).single()).isEqualTo(1);
+        assertThat(events.stream(TodosImportedEvent.class)).isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package com.sonny.suggest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TitleRadixTrie")
+class TitleRadixTrieTest {
+
+    private final TitleRadixTrie trie = new TitleRadixTrie();
+
+    private void addAll(String... titles) {
+        for (String title : titles) {
+            trie.add(title.toLowerCase(), title);
+        }
+    }
+
+    @Nested
+    @DisplayName("search")
+    class Search {
+
+        @Test
+        @DisplayName("should return matches in lexicographic order up to the limit")
+        void should_returnSortedMatches() {
+            addAll("Buy milk", "Buy bread", "Bake cake", "Buy butter", "Call mom");
+
+            assertThat(trie.search("bu", 10)).containsExactly("Buy bread", "Buy butter", "Buy milk");
+            assertThat(trie.search("buy b", 1)).containsExactly("Buy bread");
+        }
+
+        @Test
+        @DisplayName("should match a prefix that ends in the middle of a compressed edge")
+        void should_match_when_prefixEndsInsideEdge() {
+            addAll("Groceries");
+
+            assertThat(trie.search("groc", 10)).containsExactly("Groceries");
+            assertThat(trie.search("grox", 10)).isEmpty();
+            assertThat(trie.search("groceries and more", 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should include a title that is itself a prefix of others")
+        void should_includeInnerTitles() {
+            addAll("Buy", "Buy milk");
+
+            assertThat(trie.search("buy", 10)).containsExactly("Buy", "Buy milk");
+        }
+    }
+
+    @Nested
+    @DisplayName("remove")
+    class Remove {
+
+        @Test
+        @DisplayName("should keep a title until every todo carrying it is removed")
+        void should_countDuplicates() {
+            addAll("Buy milk", "Buy milk");
+
+            trie.remove("buy milk");
+            assertThat(trie.search("buy", 10)).containsExactly("Buy milk");
+
+            trie.remove("buy milk");
+            assertThat(trie.search("buy", 10)).isEmpty();
+            assertThat(trie.distinctTitles()).isZero();
+        }
+
+        @Test
+        @DisplayName("should leave siblings searchable after pruning and merging nodes")
+        void should_keepSiblings() {
+            addAll("Buy milk", "Buy bread", "Buy", "Bake");
+
+            trie.remove("buy bread");
+            trie.remove("buy");
+
+            assertThat(trie.search("b", 10)).containsExactly("Bake", "Buy milk");
+            assertThat(trie.search("buy m", 10)).containsExactly("Buy milk");
+            assertThat(trie.distinctTitles()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should ignore titles that are not indexed")
+        void should_ignoreUnknownTitles() {
+            addAll("Buy milk");
+
+            trie.remove("buy");
+            trie.remove("buy milk please");
+
+            assertThat(trie.search("buy", 10)).containsExactly("Buy milk");
+        }
+    }
+
+    @Test
+    @DisplayName("should grow its memory estimate with the number of distinct titles")
+    void should_reportMemory() {
+        long empty = trie.estimatedBytes();
+        addAll("Buy milk", "Buy bread", "Call mom");
+
+        assertThat(trie.estimatedBytes()).isGreaterThan(empty);
+    }
+
+    @Test
+    @DisplayName("should count display strings, which only the trie holds, and release them on removal")
+    void should_countDisplayStrings() {
+        long empty = trie.estimatedBytes();
+        String title = "A".repeat(1000);
+        addAll(title);
+
+        // Label and display are separate strings of 1000 characters each
+        assertThat(trie.estimatedBytes() - empty).isGreaterThanOrEqualTo(2000);
+
+        trie.remove(title.toLowerCase());
+
+        assertThat(trie.estimatedBytes()).isEqualTo(empty);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sonny.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Runs the application against an embedded Postgres, with every statement routed through
+ * {@link SqlStatementRecorder} so integration tests can enforce per-endpoint SQL budgets.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class EmbeddedPostgresTestConfig {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    SqlStatementRecorder sqlStatementRecorder() {
+        return new SqlStatementRecorder();
+    }
+
+    @Bean
+    DataSource dataSource(EmbeddedPostgres embeddedPostgres, SqlStatementRecorder sqlStatementRecorder) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(embeddedPostgres.getJdbcUrl("postgres", "postgres"));
+        pool.setUsername("postgres");
+        pool.setPassword("postgres");
+        return ProxyDataSourceBuilder.create("counted", pool)
+                .listener(sqlStatementRecorder)
+                .build();
+    }
+}
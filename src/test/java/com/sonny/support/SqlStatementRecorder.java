@@ -0,0 +1,65 @@
+package com.sonny.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures the JDBC round trips issued by the test thread while recording.
+ * A JDBC batch counts as one round trip; its statements are listed together.
+ * Statements from other threads (schedulers, Flyway at startup) are ignored.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final List<String> statements = new ArrayList<>();
+    private volatile Thread recordingThread;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (Thread.currentThread() != recordingThread) {
+            return;
+        }
+        statements.add(queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .map(sql -> sql.replaceAll("\\s+", " ").trim())
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Runs the action and asserts it issued exactly {@code budget} round trips,
+     * failing with the full list of executed SQL otherwise.
+     */
+    public void assertStatements(int budget, Action action) throws Exception {
+        List<String> executed = record(action);
+        assertThat(executed)
+                .withFailMessage(() -> "Expected %d SQL statement(s) but %d were executed:%n  %s".formatted(
+                        budget, executed.size(), String.join(System.lineSeparator() + "  ", executed)))
+                .hasSize(budget);
+    }
+
+    public List<String> record(Action action) throws Exception {
+        statements.clear();
+        recordingThread = Thread.currentThread();
+        try {
+            action.run();
+        } finally {
+            recordingThread = null;
+        }
+        return List.copyOf(statements);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sonny.todo;
+
+import com.sonny.config.MissingTodoCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MissingTodoCache")
+class MissingTodoCacheTest {
+
+    private final MissingTodoCache cache = new MissingTodoCache(
+            new MissingTodoCacheProperties(true, Duration.ofMinutes(1), 2), new SimpleMeterRegistry());
+
+    private static TodoChangedEvent created(long id) {
+        return new TodoChangedEvent(TodoChangedEvent.Type.CREATED, id, null, null, "jane", Instant.now());
+    }
+
+    @Test
+    @DisplayName("should report a recorded miss until the id is created")
+    void should_forgetMiss_when_created() {
+        cache.recordMiss(5L, cache.generation());
+        assertThat(cache.isMissing(5L)).isTrue();
+
+        cache.onTodoChanged(created(5L));
+
+        assertThat(cache.isMissing(5L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should not record a miss whose lookup raced with a create")
+    void should_dropMiss_when_invalidatedDuringLookup() {
+        long generation = cache.generation();
+        cache.onTodoChanged(created(5L));
+
+        cache.recordMiss(5L, generation);
+
+        assertThat(cache.isMissing(5L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should evict the oldest miss at max entries")
+    void should_evictOldest_when_full() {
+        for (long id = 1; id <= 3; id++) {
+            cache.recordMiss(id, cache.generation());
+        }
+
+        assertThat(cache.isMissing(1L)).isFalse();
+        assertThat(cache.isMissing(2L)).isTrue();
+        assertThat(cache.isMissing(3L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should keep a refreshed miss over older ones at max entries")
+    void should_keepRefreshedMiss_when_full() {
+        cache.recordMiss(1L, cache.generation());
+        cache.recordMiss(2L, cache.generation());
+        cache.recordMiss(1L, cache.generation());
+
+        cache.recordMiss(3L, cache.generation());
+
+        assertThat(cache.isMissing(1L)).isTrue();
+        assertThat(cache.isMissing(2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should never cache ids the sequence cannot assign")
+    void should_ignore_when_idBelowOne() {
+        cache.recordMiss(-1L, cache.generation());
+
+        assertThat(cache.isMissing(-1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should forget every miss after an import")
+    void should_clear_when_imported() {
+        cache.recordMiss(5L, cache.generation());
+
+        cache.onTodosImported(new TodosImportedEvent(1L, 10, "jane", Instant.now()));
+
+        assertThat(cache.isMissing(5L)).isFalse();
+    }
+}
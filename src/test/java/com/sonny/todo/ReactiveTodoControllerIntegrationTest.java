@@ -0,0 +1,153 @@
+package com.sonny.todo;
+
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The reactive read endpoints against a real Postgres, through the R2DBC pool the profile adds.
+ * A handler that returns a publisher starts async processing, which is how these tests tell the
+ * reactive mappings from the blocking ones they replace.
+ */
+@SpringBootTest(properties = "app.refresh-token-purge.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("reactive-reads")
+@Import({EmbeddedPostgresTestConfig.class, ReactiveTodoControllerIntegrationTest.ReactivePostgres.class})
+@WithMockUser
+@DisplayName("Reactive todo reads")
+class ReactiveTodoControllerIntegrationTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class ReactivePostgres {
+
+        // Points the R2DBC pool at the embedded instance, whose port is only known once it has started
+        @Bean
+        DynamicPropertyRegistrar reactiveReadsUrl(EmbeddedPostgres embeddedPostgres) {
+            return registry -> {
+                registry.add("app.reactive-reads.url",
+                        () -> "r2dbc:postgresql://localhost:" + embeddedPostgres.getPort() + "/postgres");
+                registry.add("app.reactive-reads.username", () -> "postgres");
+                registry.add("app.reactive-reads.password", () -> "postgres");
+            };
+        }
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("TRUNCATE todos").update();
+        ids = List.of(
+                jdbcClient.sql("""
+                                INSERT INTO todos (title, description, completed, created_at, updated_at)
+                                VALUES ('Buy groceries', NULL, TRUE, '2025-03-14 15:09:26.535897', '2025-03-15 08:00:00')
+                                RETURNING id
+                                """)
+                        .query(Long.class).single(),
+                jdbcClient.sql("INSERT INTO todos (title, description) VALUES ('Pay rent', 'Before Friday') RETURNING id")
+                        .query(Long.class).single());
+    }
+
+    @Test
+    @DisplayName("should map every column of a row")
+    void should_mapRow_when_foundById() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/todos/{id}", ids.getFirst())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(ids.getFirst()))
+                .andExpect(jsonPath("$.title").value("Buy groceries"))
+                .andExpect(jsonPath("$.description").value(nullValue()))
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.createdAt").value("2025-03-14T15:09:26.535897"))
+                .andExpect(jsonPath("$.updatedAt").value("2025-03-15T08:00:00"));
+    }
+
+    @Test
+    @DisplayName("should answer 404 when the id does not exist")
+    void should_return404_when_missing() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/todos/{id}", ids.getLast() + 1000)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("should win over the blocking list handler and collect JSON into one array")
+    void should_collectArray_when_jsonRequested() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Buy groceries"))
+                .andExpect(jsonPath("$[1].title").value("Pay rent"));
+    }
+
+    @Test
+    @DisplayName("should filter the list by completion")
+    void should_filter_when_completedGiven() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/todos").param("completed", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids.getLast()));
+    }
+
+    @Test
+    @DisplayName("should stream NDJSON, one todo per line, written while the publisher emits")
+    void should_streamLines_when_ndjsonRequested() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult();
+
+        // A streamed body is written by the emitter itself: it is complete before any async dispatch
+        String body = started.getResponse().getContentAsString();
+        assertThat(started.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(body.lines().toList()).hasSize(2)
+                .satisfiesExactly(
+                        line -> assertThat(line).startsWith("{").contains("\"title\":\"Buy groceries\""),
+                        line -> assertThat(line).startsWith("{").contains("\"title\":\"Pay rent\""));
+    }
+}
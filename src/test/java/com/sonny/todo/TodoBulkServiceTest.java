@@ -0,0 +1,91 @@
+package com.sonny.todo;
+
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.todo.dto.BulkOperationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs more rows than one chunk through the keyset-chunked statements against a real Postgres.
+ */
+@SpringBootTest(properties = {"app.refresh-token-purge.enabled=false", "app.todo-bulk.chunk-size=3"})
+@Import(EmbeddedPostgresTestConfig.class)
+@RecordApplicationEvents
+@WithMockUser(roles = "ADMIN")
+@DisplayName("TodoBulkService")
+class TodoBulkServiceTest {
+
+    @Autowired
+    TodoBulkService todoBulkService;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("TRUNCATE todos, todo_tombstones").update();
+    }
+
+    @Test
+    @DisplayName("should complete every matching row exactly once, publishing one event per chunk")
+    void should_visitEveryRowOnce_when_completingMoreRowsThanChunk() {
+        List<Long> open = insert(10, false);
+        insert(2, true);
+
+        BulkOperationResponse response = todoBulkService.completeAll(null);
+
+        assertThat(response.affected()).isEqualTo(10);
+        assertThat(jdbcClient.sql("SELECT COUNT(*) FROM todos WHERE completed = FALSE")
+                .query(Long.class).single()).isZero();
+        List<TodosBulkChangedEvent> published = events.stream(TodosBulkChangedEvent.class).toList();
+        assertThat(published).extracting(event -> event.todoIds().size()).containsExactly(3, 3, 3, 1);
+        assertThat(published).allSatisfy(event -> assertThat(event.type()).isEqualTo(TodoChangedEvent.Type.UPDATED));
+        assertThat(published.stream().flatMap(event -> event.todoIds().stream()))
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(open);
+    }
+
+    @Test
+    @DisplayName("should delete completed rows in chunks and leave a tombstone for each")
+    void should_writeTombstones_when_deletingMoreRowsThanChunk() {
+        List<Long> done = insert(7, true);
+        List<Long> open = insert(2, false);
+
+        BulkOperationResponse response = todoBulkService.deleteCompleted(null);
+
+        assertThat(response.affected()).isEqualTo(7);
+        assertThat(jdbcClient.sql("SELECT id FROM todos").query(Long.class).list())
+                .containsExactlyInAnyOrderElementsOf(open);
+        assertThat(jdbcClient.sql("SELECT todo_id FROM todo_tombstones").query(Long.class).list())
+                .containsExactlyInAnyOrderElementsOf(done);
+        List<TodosBulkChangedEvent> published = events.stream(TodosBulkChangedEvent.class).toList();
+        assertThat(published).extracting(event -> event.todoIds().size()).containsExactly(3, 3, 1);
+        assertThat(published.stream().flatMap(event -> event.todoIds().stream()))
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(done);
+    }
+
+    private List<Long> insert(int count, boolean completed) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> jdbcClient.sql("INSERT INTO todos (title, completed) VALUES (?, ?) RETURNING id")
+                        .params("Bulk todo " + i, completed)
+                        .query(Long.class).single())
+                .toList();
+    }
+}
@@ -3,7 +3,11 @@ package com.sonny.todo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sonny.config.SecurityConfig;
 import com.sonny.exception.GlobalExceptionHandler;
+import com.sonny.exception.InvalidSyncTokenException;
+import com.sonny.exception.SyncTokenExpiredException;
 import com.sonny.exception.TodoNotFoundException;
+import com.sonny.todo.dto.BulkOperationResponse;
+import com.sonny.todo.dto.TodoChangesResponse;
 import com.sonny.todo.dto.TodoRequest;
 import com.sonny.todo.dto.TodoResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -40,6 +44,12 @@ class TodoControllerTest {
     @MockitoBean
     TodoService todoService;
 
+    @MockitoBean
+    TodoSyncService todoSyncService;
+
+    @MockitoBean
+    TodoBulkService todoBulkService;
+
     private static final LocalDateTime NOW = LocalDateTime.now();
 
     private TodoResponse sampleResponse() {
@@ -72,6 +82,20 @@ class TodoControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.length()").value(0));
         }
+
+        @Test
+        @DisplayName("should filter by completion when completed is given")
+        void should_filterByCompleted_when_completedGiven() throws Exception {
+            TodoResponse done = new TodoResponse(2L, "Pay rent", null, true, NOW, NOW);
+            given(todoService.findByCompleted(true)).willReturn(List.of(done));
+
+            mockMvc.perform(get("/api/todos").param("completed", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(2));
+
+            then(todoService).should(never()).findAll();
+        }
     }
 
     @Nested
@@ -258,4 +282,69 @@ class TodoControllerTest {
                     .andExpect(jsonPath("$.message").value("Todo not found with id: 99"));
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/todos/changes")
+    class GetChanges {
+
+        @Test
+        @DisplayName("should return 200 with changed todos, tombstones and the next token")
+        void should_return200WithChanges() throws Exception {
+            given(todoSyncService.changesSince("100.0.100", null)).willReturn(
+                    new TodoChangesResponse(List.of(sampleResponse()), List.of(7L), "120.0.120", false));
+
+            mockMvc.perform(get("/api/todos/changes").param("since", "100.0.100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed[0].id").value(1))
+                    .andExpect(jsonPath("$.deleted[0]").value(7))
+                    .andExpect(jsonPath("$.nextToken").value("120.0.120"))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @DisplayName("should return 400 when the token is malformed")
+        void should_return400_when_tokenIsMalformed() throws Exception {
+            given(todoSyncService.changesSince("garbage", null)).willThrow(new InvalidSyncTokenException("garbage"));
+
+            mockMvc.perform(get("/api/todos/changes").param("since", "garbage"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("INVALID_SYNC_TOKEN"));
+        }
+
+        @Test
+        @DisplayName("should return 410 when the token predates tombstone compaction")
+        void should_return410_when_tokenExpired() throws Exception {
+            given(todoSyncService.changesSince("5.0.5", null)).willThrow(new SyncTokenExpiredException());
+
+            mockMvc.perform(get("/api/todos/changes").param("since", "5.0.5"))
+                    .andExpect(status().isGone())
+                    .andExpect(jsonPath("$.code").value("SYNC_TOKEN_EXPIRED"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk operations")
+    class Bulk {
+
+        @Test
+        @DisplayName("should return the affected count when completing all todos")
+        void should_returnAffected_when_completingAll() throws Exception {
+            given(todoBulkService.completeAll(null)).willReturn(new BulkOperationResponse(42));
+
+            mockMvc.perform(post("/api/todos/bulk/complete"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affected").value(42));
+        }
+
+        @Test
+        @DisplayName("should pass the updatedBefore filter when deleting completed todos")
+        void should_passFilter_when_deletingCompleted() throws Exception {
+            LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+            given(todoBulkService.deleteCompleted(cutoff)).willReturn(new BulkOperationResponse(3));
+
+            mockMvc.perform(delete("/api/todos/bulk/completed").param("updatedBefore", "2025-01-01T00:00:00"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.affected").value(3));
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.sonny.todo;
+
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.todo.dto.TodoRequest;
+import com.sonny.todo.dto.TodoResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.refresh-token-purge.enabled=false",
+        "app.todo-create-batching.enabled=true",
+        "app.todo-create-batching.max-wait=PT0.05S"
+})
+@Import(EmbeddedPostgresTestConfig.class)
+@DisplayName("TodoCreateCoalescer")
+class TodoCreateCoalescerTest {
+
+    private static final int CALLERS = 32;
+
+    @Autowired
+    TodoCreateCoalescer coalescer;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private List<Future<TodoResponse>> createConcurrently(List<TodoRequest> requests) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TodoResponse>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests.size())) {
+            for (TodoRequest request : requests) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.create(request);
+                }));
+            }
+            start.countDown();
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("should give every concurrent caller its own persisted todo while sharing transactions")
+    void should_commitConcurrentCreatesTogether() throws Exception {
+        List<TodoRequest> requests = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            requests.add(new TodoRequest("Batched todo " + i, "Description " + i, i % 2 == 0));
+        }
+
+        List<Future<TodoResponse>> results = createConcurrently(requests);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            TodoResponse created = results.get(i).get();
+            assertThat(created.title()).isEqualTo("Batched todo " + i);
+            assertThat(jdbcClient.sql("SELECT title FROM todos WHERE id = ?").param(created.id())
+                    .query(String.class).single()).isEqualTo("Batched todo " + i);
+            ids.add(created.id());
+        }
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(meterRegistry.get("todo.create.batch.size").summary().count()).isLessThan(CALLERS);
+    }
+
+    @Test
+    @DisplayName("should fail only the offending create when a batch is rejected by the database")
+    void should_isolateFailures() throws Exception {
+        List<TodoRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(new TodoRequest("Good todo " + i, null, false));
+        }
+        // Bypasses controller validation: exceeds VARCHAR(255)
+        requests.add(new TodoRequest("x".repeat(300), null, false));
+
+        List<Future<TodoResponse>> results = createConcurrently(requests);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(results.get(i).get().title()).isEqualTo("Good todo " + i);
+        }
+        assertThatThrownBy(() -> results.get(8).get()).hasCauseInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sonny.todo;
+
+import com.sonny.config.TodoCreateBatchingProperties;
+import com.sonny.exception.DeadlineExceededException;
+import com.sonny.todo.dto.TodoRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TodoCreateCoalescer caller timeout")
+class TodoCreateCoalescerTimeoutTest {
+
+    @Mock
+    TodoBatchInsertRepository repository;
+
+    @Mock
+    TodoService todoService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("should answer with a deadline error and never insert a create its caller gave up on")
+    void should_dropCreate_when_callerTimedOutBeforeFlush() {
+        // The gather window outlasts the caller, so the create is still queued when the caller gives up
+        TodoCreateCoalescer coalescer = new TodoCreateCoalescer(repository, todoService, eventPublisher,
+                new TodoCreateBatchingProperties(true, 64, Duration.ofMillis(300), 16, Duration.ofMillis(20)),
+                transactionManager, new SimpleMeterRegistry());
+        coalescer.start();
+
+        assertThatThrownBy(() -> coalescer.create(new TodoRequest("Buy groceries", null, false)))
+                .isInstanceOf(DeadlineExceededException.class);
+
+        coalescer.stop(); // Joins the flusher once the gathered batch has been handled
+        then(repository).shouldHaveNoInteractions();
+        then(transactionManager).shouldHaveNoInteractions();
+    }
+}
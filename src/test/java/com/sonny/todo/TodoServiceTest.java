@@ -8,9 +8,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +29,12 @@ class TodoServiceTest {
     @Mock
     TodoRepository todoRepository;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    MissingTodoCache missingTodos;
+
     @InjectMocks
     TodoService todoService;
 
@@ -104,6 +112,27 @@ class TodoServiceTest {
                     .isInstanceOf(TodoNotFoundException.class)
                     .hasMessageContaining("99");
         }
+
+        @Test
+        @DisplayName("should remember the miss with the generation read before the query")
+        void should_recordMiss_when_idNotFound() {
+            given(missingTodos.generation()).willReturn(7L);
+            given(todoRepository.findById(99L)).willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> todoService.findById(99L)).isInstanceOf(TodoNotFoundException.class);
+
+            then(missingTodos).should().recordMiss(99L, 7L);
+        }
+
+        @Test
+        @DisplayName("should not query when the id is known to be missing")
+        void should_skipQuery_when_idKnownMissing() {
+            given(missingTodos.isMissing(99L)).willReturn(true);
+
+            assertThatThrownBy(() -> todoService.findById(99L)).isInstanceOf(TodoNotFoundException.class);
+
+            then(todoRepository).shouldHaveNoInteractions();
+        }
     }
 
     @Nested
@@ -124,6 +153,12 @@ class TodoServiceTest {
             assertThat(result.description()).isEqualTo("Milk, Eggs");
             assertThat(result.completed()).isFalse();
             then(todoRepository).should().save(any(Todo.class));
+            ArgumentCaptor<TodoChangedEvent> event = ArgumentCaptor.forClass(TodoChangedEvent.class);
+            then(eventPublisher).should().publishEvent(event.capture());
+            assertThat(event.getValue())
+                    .extracting(TodoChangedEvent::type, TodoChangedEvent::todoId, TodoChangedEvent::before,
+                            TodoChangedEvent::after, TodoChangedEvent::actor)
+                    .containsExactly(TodoChangedEvent.Type.CREATED, 1L, null, result, "system");
         }
 
         @Test
@@ -187,25 +222,30 @@ class TodoServiceTest {
         @Test
         @DisplayName("should delete todo when it exists")
         void should_deleteTodo_when_idExists() {
-            given(todoRepository.existsById(1L)).willReturn(true);
-            willDoNothing().given(todoRepository).deleteById(1L);
+            Todo todo = buildTodo(1L, "Buy groceries", "Milk, Eggs", false);
+            given(todoRepository.findById(1L)).willReturn(Optional.of(todo));
 
             todoService.delete(1L);
 
-            then(todoRepository).should().existsById(1L);
-            then(todoRepository).should().deleteById(1L);
+            then(todoRepository).should().deleteWithTombstone(1L);
+            ArgumentCaptor<TodoChangedEvent> event = ArgumentCaptor.forClass(TodoChangedEvent.class);
+            then(eventPublisher).should().publishEvent(event.capture());
+            assertThat(event.getValue().type()).isEqualTo(TodoChangedEvent.Type.DELETED);
+            assertThat(event.getValue().before().title()).isEqualTo("Buy groceries");
+            assertThat(event.getValue().after()).isNull();
         }
 
         @Test
         @DisplayName("should throw TodoNotFoundException without deleting when id does not exist")
         void should_throwTodoNotFoundException_andNotDelete_when_idNotFound() {
-            given(todoRepository.existsById(99L)).willReturn(false);
+            given(todoRepository.findById(99L)).willReturn(Optional.empty());
 
             assertThatThrownBy(() -> todoService.delete(99L))
                     .isInstanceOf(TodoNotFoundException.class)
                     .hasMessageContaining("99");
 
-            then(todoRepository).should(never()).deleteById(any());
+            then(todoRepository).should(never()).deleteWithTombstone(any());
+            then(eventPublisher).shouldHaveNoInteractions();
         }
     }
 }
@@ -0,0 +1,138 @@
+package com.sonny.todo;
+
+import com.sonny.exception.InvalidSyncTokenException;
+import com.sonny.exception.SyncTokenExpiredException;
+import com.sonny.support.EmbeddedPostgresTestConfig;
+import com.sonny.todo.dto.TodoChangesResponse;
+import com.sonny.todo.dto.TodoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Delta sync and tombstone compaction against a real Postgres, where change tokens are transaction ids.
+ * Each test starts from a token covering everything written so far, so rows left by other tests don't show.
+ */
+@SpringBootTest(properties = "app.refresh-token-purge.enabled=false")
+@Import(EmbeddedPostgresTestConfig.class)
+@DisplayName("TodoSyncService")
+class TodoSyncIntegrationTest {
+
+    @Autowired
+    TodoSyncService todoSyncService;
+
+    @Autowired
+    TombstoneCompactionJob tombstoneCompactionJob;
+
+    @Autowired
+    JdbcClient jdbcClient;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = drain(null);
+    }
+
+    @Test
+    @DisplayName("should return rows created or updated after the token, in change order")
+    void should_returnChanges_when_writtenAfterToken() {
+        long first = insert("First");
+        long second = insert("Second");
+        jdbcClient.sql("UPDATE todos SET title = 'First (edited)' WHERE id = ?").param(first).update();
+
+        TodoChangesResponse changes = todoSyncService.changesSince(token, null);
+
+        assertThat(changes.changed()).extracting(TodoResponse::id).containsExactly(second, first);
+        assertThat(changes.changed().getLast().title()).isEqualTo("First (edited)");
+        assertThat(changes.deleted()).isEmpty();
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(todoSyncService.changesSince(changes.nextToken(), null).changed()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should page through changes with the returned token")
+    void should_continueFromToken_when_pageIsFull() {
+        long first = insert("First");
+        long second = insert("Second");
+
+        TodoChangesResponse page = todoSyncService.changesSince(token, 1);
+        TodoChangesResponse rest = todoSyncService.changesSince(page.nextToken(), 1);
+
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.changed()).extracting(TodoResponse::id).containsExactly(first);
+        assertThat(rest.changed()).extracting(TodoResponse::id).containsExactly(second);
+    }
+
+    @Test
+    @DisplayName("should surface a deleted todo as a tombstone")
+    void should_returnTombstone_when_deleted() {
+        long id = insert("Doomed");
+        token = drain(token);
+        delete(id);
+
+        TodoChangesResponse changes = todoSyncService.changesSince(token, null);
+
+        assertThat(changes.deleted()).containsExactly(id);
+        assertThat(changes.changed()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should compact tombstones past retention and answer older tokens with expired")
+    void should_expireToken_when_neededTombstonesWereCompacted() {
+        long old = insert("Old");
+        long recent = insert("Recent");
+        String beforeDeletes = drain(token);
+        delete(old);
+        delete(recent);
+        jdbcClient.sql("UPDATE todo_tombstones SET deleted_at = NOW() - INTERVAL '60 days' WHERE todo_id = ?")
+                .param(old)
+                .update();
+
+        tombstoneCompactionJob.compact();
+
+        assertThat(jdbcClient.sql("SELECT todo_id FROM todo_tombstones WHERE todo_id IN (?, ?)")
+                .params(old, recent)
+                .query(Long.class).list()).containsExactly(recent);
+        assertThatThrownBy(() -> todoSyncService.changesSince(beforeDeletes, null))
+                .isInstanceOf(SyncTokenExpiredException.class);
+        assertThatCode(() -> todoSyncService.changesSince(null, null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should reject a malformed token")
+    void should_reject_when_tokenIsMalformed() {
+        assertThatThrownBy(() -> todoSyncService.changesSince("12.x", null))
+                .isInstanceOf(InvalidSyncTokenException.class);
+    }
+
+    private String drain(String from) {
+        TodoChangesResponse page;
+        do {
+            page = todoSyncService.changesSince(from, Integer.MAX_VALUE);
+            from = page.nextToken();
+        } while (page.hasMore());
+        return from;
+    }
+
+    private long insert(String title) {
+        return jdbcClient.sql("INSERT INTO todos (title, completed) VALUES (?, FALSE) RETURNING id")
+                .param(title)
+                .query(Long.class).single();
+    }
+
+    private void delete(long id) {
+        jdbcClient.sql("""
+                        WITH deleted AS (DELETE FROM todos WHERE id = ? RETURNING id)
+                        INSERT INTO todo_tombstones (todo_id) SELECT id FROM deleted
+                        """)
+                .param(id)
+                .update();
+    }
+}